@@ -183,6 +183,43 @@ async def scene_blend(request: dict = Body(...)):
     await main_queue.put((task_id, "scene-blend", request))
     return JSONResponse(content={"success": True, "task_id": task_id})
 
+@app.post("/api/v1/ai/batch")
+async def batch_generate(request: dict = Body(...)):
+    print(f"[QUEUE INPUT] batch request: mediaId={request.get('mediaId')}, items={len(request.get('items') or [])}")
+    items = request.get("items") or []
+    if not items:
+        return JSONResponse(content={"success": False, "error": "items are required"}, status_code=400)
+    global music_in_progress
+    delay_count = 0
+    while music_in_progress and delay_count < 20:
+        print("[QUEUE INPUT] Waiting for music to finish before enqueue main...")
+        await asyncio.sleep(0.1)
+        delay_count += 1
+    # 이미지는 한 번만 내려받고 각 작업이 같은 bytes 를 사용
+    download_url = request.get("downloadUrl")
+    image_bytes = await download_image_bytes(download_url)
+    if not image_bytes:
+        print("[QUEUE INPUT][ERROR] Image download failed for batch")
+        return JSONResponse(content={"success": False, "error": "Image download failed (expired S3 link?)"}, status_code=400)
+    task_ids = []
+    for item in items:
+        task_type = item.get("task")
+        if task_type not in ("remove-person", "scene-blend"):
+            print(f"[QUEUE INPUT][ERROR] Unknown batch task: {task_type}")
+            continue
+        req = {
+            "mediaId": request.get("mediaId"),
+            "downloadUrl": download_url,
+            "targetAIS3Key": item.get("targetAIS3Key"),
+            "sceneType": item.get("sceneType"),
+            "image_bytes": image_bytes,
+        }
+        task_id = str(uuid.uuid4())
+        print(f"[QUEUE INPUT] Putting to main_queue ({task_type}) task_id={task_id}")
+        await main_queue.put((task_id, task_type, req))
+        task_ids.append(task_id)
+    return JSONResponse(content={"success": True, "task_ids": task_ids})
+
 @app.post("/api/v1/ai/recommend-music")
 async def recommend_music(request: dict = Body(...)):
     print(f"[QUEUE INPUT] recommend-music request: {json.dumps(request, indent=2)}")
@@ -11,6 +11,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.util.Collections;
 import java.util.Set;
 
 @Entity
@@ -33,13 +34,16 @@ public class Alarm {
     @Column(name = "alarm_time", nullable = false)
     private LocalTime alarmTime;
 
-    @Convert(converter = DayOfWeekConverter.class)
-    @Column(name = "repeat_days", length = 100)
-    private Set<DayOfWeek> repeatDays;
+    // 반복 요일 비트마스크 (RepeatDays), 0 이면 한 번만 울린다
+    @Column(name = "repeat_days", nullable = false)
+    private short repeatDaysMask;
 
     @Column(name = "is_active", nullable = false)
     private boolean isActive;
 
+    @Column(name = "sync_version", nullable = false)
+    private long syncVersion;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
@@ -50,7 +54,7 @@ public class Alarm {
         this.device = device;
         this.alarmName = alarmName;
         this.alarmTime = alarmTime;
-        this.repeatDays = repeatDays;
+        this.repeatDaysMask = (short) RepeatDays.toMask(repeatDays);
         this.isActive = isActive;
     }
 
@@ -58,7 +62,15 @@ public class Alarm {
     public void update(String alarmName, LocalTime alarmTime, Set<DayOfWeek> repeatDays, boolean isActive) {
         this.alarmName = alarmName;
         this.alarmTime = alarmTime;
-        this.repeatDays = repeatDays;
+        this.repeatDaysMask = (short) RepeatDays.toMask(repeatDays);
         this.isActive = isActive;
     }
+
+    public Set<DayOfWeek> getRepeatDays() {
+        return Collections.unmodifiableSet(RepeatDays.fromMask(repeatDaysMask));
+    }
+
+    public void markSynced(long syncVersion) {
+        this.syncVersion = syncVersion;
+    }
 }
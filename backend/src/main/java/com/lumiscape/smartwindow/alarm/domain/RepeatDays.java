@@ -0,0 +1,47 @@
+package com.lumiscape.smartwindow.alarm.domain;
+
+import java.time.DayOfWeek;
+import java.util.EnumSet;
+import java.util.Set;
+
+// 반복 요일을 월요일 = bit 0 ... 일요일 = bit 6 의 비트마스크로 다룬다
+public final class RepeatDays {
+
+    private RepeatDays() {
+    }
+
+    public static final int NONE = 0;
+    public static final int ALL = 0x7F;
+
+    public static int bit(DayOfWeek day) {
+        return 1 << (day.getValue() - 1);
+    }
+
+    public static boolean includes(int mask, DayOfWeek day) {
+        return (mask & bit(day)) != 0;
+    }
+
+    public static int toMask(Set<DayOfWeek> days) {
+        int mask = NONE;
+
+        if (days != null) {
+            for (DayOfWeek day : days) {
+                mask |= bit(day);
+            }
+        }
+
+        return mask;
+    }
+
+    public static Set<DayOfWeek> fromMask(int mask) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (includes(mask, day)) {
+                days.add(day);
+            }
+        }
+
+        return days;
+    }
+}
@@ -0,0 +1,24 @@
+package com.lumiscape.smartwindow.alarm.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// v : 이 payload 를 적용한 뒤의 알람 버전, full : 전체 스냅샷 여부
+// a : 변경되었거나 스냅샷에 포함된 알람 (AlarmSyncRow.toCompact 형식), d : 삭제된 알람 id
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record AlarmSyncPayload(
+        long v,
+        boolean full,
+        List<List<Object>> a,
+        List<Long> d
+) {
+
+    public static AlarmSyncPayload snapshot(long version, List<AlarmSyncRow> alarms) {
+        return new AlarmSyncPayload(version, true, alarms.stream().map(AlarmSyncRow::toCompact).toList(), List.of());
+    }
+
+    public static AlarmSyncPayload delta(long version, List<AlarmSyncRow> changed, List<Long> deleted) {
+        return new AlarmSyncPayload(version, false, changed.stream().map(AlarmSyncRow::toCompact).toList(), deleted);
+    }
+}
@@ -0,0 +1,18 @@
+package com.lumiscape.smartwindow.alarm.dto;
+
+import java.time.LocalTime;
+import java.util.List;
+
+public record AlarmSyncRow(
+        Long alarmId,
+        String alarmName,
+        LocalTime alarmTime,
+        int repeatDays,
+        boolean isActive
+) {
+
+    // [alarmId, 자정부터의 초, 반복 요일 비트마스크, 활성(1/0), 이름]
+    public List<Object> toCompact() {
+        return List.of(alarmId, alarmTime.toSecondOfDay(), repeatDays, isActive ? 1 : 0, alarmName);
+    }
+}
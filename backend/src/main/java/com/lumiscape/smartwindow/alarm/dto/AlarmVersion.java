@@ -0,0 +1,12 @@
+package com.lumiscape.smartwindow.alarm.dto;
+
+public record AlarmVersion(
+        long current,
+        long tombstoneFloor
+) {
+
+    // 처음 동기화하거나, 삭제 기록이 정리된 구간보다 오래되었거나, 서버보다 앞선 버전은 delta 로 맞출 수 없다
+    public boolean canDeltaFrom(long knownVersion) {
+        return knownVersion > 0 && knownVersion >= tombstoneFloor && knownVersion <= current;
+    }
+}
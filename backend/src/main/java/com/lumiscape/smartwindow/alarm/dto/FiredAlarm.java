@@ -0,0 +1,8 @@
+package com.lumiscape.smartwindow.alarm.dto;
+
+public record FiredAlarm(
+        Long deviceId,
+        String alarmName,
+        boolean oneShot
+) {
+}
@@ -0,0 +1,22 @@
+package com.lumiscape.smartwindow.alarm.dto;
+
+import java.time.Instant;
+import java.time.LocalTime;
+
+public record ScheduledAlarm(
+        Long alarmId,
+        Long deviceId,
+        LocalTime alarmTime,
+        int repeatDays,
+        long syncVersion,
+        Instant fireAt
+) {
+
+    public ScheduledAlarm withFireAt(Instant fireAt) {
+        return new ScheduledAlarm(alarmId, deviceId, alarmTime, repeatDays, syncVersion, fireAt);
+    }
+
+    public boolean isOneShot() {
+        return repeatDays == 0;
+    }
+}
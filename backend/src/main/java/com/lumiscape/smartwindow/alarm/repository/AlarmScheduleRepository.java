@@ -0,0 +1,74 @@
+package com.lumiscape.smartwindow.alarm.repository;
+
+import com.lumiscape.smartwindow.alarm.domain.RepeatDays;
+import com.lumiscape.smartwindow.alarm.dto.FiredAlarm;
+import com.lumiscape.smartwindow.alarm.dto.ScheduledAlarm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class AlarmScheduleRepository {
+
+    private static final String FIND_ACTIVE_AFTER_SQL =
+            "SELECT id, device_id, alarm_time, repeat_days, sync_version FROM alarms "
+                    + "WHERE is_active AND id > ? ORDER BY id LIMIT ?";
+    private static final String FIND_ACTIVE_BY_ID_SQL =
+            "SELECT id, device_id, alarm_time, repeat_days, sync_version FROM alarms WHERE is_active AND id = ?";
+    // 같은 발화 시각은 한 인스턴스만 가져가고, 한 번만 울리는 알람은 이때 비활성화한다
+    private static final String CLAIM_FIRE_SQL =
+            "UPDATE alarms SET last_fired_at = ?, is_active = (repeat_days <> 0) "
+                    + "WHERE id = ? AND is_active AND sync_version = ? AND (last_fired_at IS NULL OR last_fired_at < ?) "
+                    + "RETURNING device_id, alarm_name, repeat_days = 0 AS one_shot";
+    // idx_alarms_alarm_time_repeat_days 로 시각 범위를 찾고 요일은 인덱스 안의 비트마스크로 거른다
+    private static final String FIND_ACTIVE_ON_SQL =
+            "SELECT id, device_id, alarm_time, repeat_days, sync_version FROM alarms "
+                    + "WHERE is_active AND alarm_time >= ? AND alarm_time < ? AND ((repeat_days & ?) <> 0 OR repeat_days = 0) "
+                    + "ORDER BY alarm_time";
+    private static final String UPDATE_SYNC_VERSION_SQL =
+            "UPDATE alarms SET sync_version = ? WHERE id = ?";
+
+    private static final RowMapper<ScheduledAlarm> ROW_MAPPER = (rs, rowNum) -> new ScheduledAlarm(
+            rs.getLong("id"),
+            rs.getLong("device_id"),
+            rs.getTime("alarm_time").toLocalTime(),
+            rs.getInt("repeat_days"),
+            rs.getLong("sync_version"),
+            null);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<ScheduledAlarm> findActiveAfter(long lastAlarmId, int limit) {
+        return jdbcTemplate.query(FIND_ACTIVE_AFTER_SQL, ROW_MAPPER, lastAlarmId, limit);
+    }
+
+    public Optional<ScheduledAlarm> findActiveById(Long alarmId) {
+        return jdbcTemplate.query(FIND_ACTIVE_BY_ID_SQL, ROW_MAPPER, alarmId).stream().findFirst();
+    }
+
+    // 해당 요일의 [from, to) 사이에 울릴 수 있는 알람, 한 번만 울리는 알람은 요일과 관계없이 포함한다
+    public List<ScheduledAlarm> findActiveOn(DayOfWeek day, LocalTime from, LocalTime to) {
+        return jdbcTemplate.query(FIND_ACTIVE_ON_SQL, ROW_MAPPER, Time.valueOf(from), Time.valueOf(to), RepeatDays.bit(day));
+    }
+
+    public Optional<FiredAlarm> claimFire(ScheduledAlarm alarm) {
+        Timestamp fireAt = Timestamp.from(alarm.fireAt());
+
+        return jdbcTemplate.query(CLAIM_FIRE_SQL,
+                (rs, rowNum) -> new FiredAlarm(rs.getLong("device_id"), rs.getString("alarm_name"), rs.getBoolean("one_shot")),
+                fireAt, alarm.alarmId(), alarm.syncVersion(), fireAt).stream().findFirst();
+    }
+
+    public void updateSyncVersion(Long alarmId, long syncVersion) {
+        jdbcTemplate.update(UPDATE_SYNC_VERSION_SQL, syncVersion, alarmId);
+    }
+}
@@ -0,0 +1,78 @@
+package com.lumiscape.smartwindow.alarm.repository;
+
+import com.lumiscape.smartwindow.alarm.dto.AlarmSyncRow;
+import com.lumiscape.smartwindow.alarm.dto.AlarmVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// 동기화 응답은 엔티티와 연관관계를 거치지 않고 필요한 컬럼만 읽는다
+@Repository
+@RequiredArgsConstructor
+public class AlarmSyncRepository {
+
+    private static final String NEXT_VERSION_SQL =
+            "UPDATE devices SET alarm_version = alarm_version + 1 WHERE id = ? RETURNING alarm_version";
+    private static final String FIND_VERSION_SQL =
+            "SELECT alarm_version, alarm_tombstone_floor FROM devices WHERE id = ?";
+    private static final String FIND_ALARMS_SQL =
+            "SELECT id, alarm_name, alarm_time, repeat_days, is_active FROM alarms WHERE device_id = ?";
+    private static final String FIND_ALARMS_SINCE_SQL =
+            "SELECT id, alarm_name, alarm_time, repeat_days, is_active FROM alarms WHERE device_id = ? AND sync_version > ?";
+    private static final String INSERT_TOMBSTONE_SQL =
+            "INSERT INTO alarm_tombstones (device_id, alarm_id, version) VALUES (?, ?, ?) "
+                    + "ON CONFLICT (device_id, alarm_id) DO UPDATE SET version = EXCLUDED.version, deleted_at = CURRENT_TIMESTAMP";
+    private static final String FIND_TOMBSTONES_SINCE_SQL =
+            "SELECT alarm_id FROM alarm_tombstones WHERE device_id = ? AND version > ?";
+    // 정리한 삭제 기록의 최대 버전을 floor 로 올려, 그보다 오래된 버전의 요청은 스냅샷으로 보낸다
+    private static final String PRUNE_TOMBSTONES_SQL =
+            "WITH pruned AS (DELETE FROM alarm_tombstones WHERE deleted_at < ? RETURNING device_id, version) "
+                    + "UPDATE devices d SET alarm_tombstone_floor = p.max_version "
+                    + "FROM (SELECT device_id, MAX(version) AS max_version FROM pruned GROUP BY device_id) p "
+                    + "WHERE d.id = p.device_id AND d.alarm_tombstone_floor < p.max_version";
+
+    private static final RowMapper<AlarmSyncRow> ROW_MAPPER = (rs, rowNum) -> new AlarmSyncRow(
+            rs.getLong("id"),
+            rs.getString("alarm_name"),
+            rs.getTime("alarm_time").toLocalTime(),
+            rs.getInt("repeat_days"),
+            rs.getBoolean("is_active"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long nextVersion(Long deviceId) {
+        return jdbcTemplate.queryForObject(NEXT_VERSION_SQL, Long.class, deviceId);
+    }
+
+    public Optional<AlarmVersion> findVersion(Long deviceId) {
+        return jdbcTemplate.query(FIND_VERSION_SQL,
+                (rs, rowNum) -> new AlarmVersion(rs.getLong("alarm_version"), rs.getLong("alarm_tombstone_floor")),
+                deviceId).stream().findFirst();
+    }
+
+    public List<AlarmSyncRow> findAlarms(Long deviceId) {
+        return jdbcTemplate.query(FIND_ALARMS_SQL, ROW_MAPPER, deviceId);
+    }
+
+    public List<AlarmSyncRow> findAlarmsSince(Long deviceId, long version) {
+        return jdbcTemplate.query(FIND_ALARMS_SINCE_SQL, ROW_MAPPER, deviceId, version);
+    }
+
+    public void insertTombstone(Long deviceId, Long alarmId, long version) {
+        jdbcTemplate.update(INSERT_TOMBSTONE_SQL, deviceId, alarmId, version);
+    }
+
+    public List<Long> findTombstonesSince(Long deviceId, long version) {
+        return jdbcTemplate.queryForList(FIND_TOMBSTONES_SINCE_SQL, Long.class, deviceId, version);
+    }
+
+    public int pruneTombstones(LocalDateTime deletedBefore) {
+        return jdbcTemplate.update(PRUNE_TOMBSTONES_SQL, Timestamp.valueOf(deletedBefore));
+    }
+}
@@ -0,0 +1,30 @@
+package com.lumiscape.smartwindow.alarm.scheduler;
+
+import com.lumiscape.smartwindow.alarm.domain.RepeatDays;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+
+public final class AlarmFireTimes {
+
+    private AlarmFireTimes() {
+    }
+
+    // 반복 요일이 없으면 다음 한 번, 있으면 해당 요일 중 가장 가까운 시각을 구한다
+    public static ZonedDateTime next(LocalTime alarmTime, int repeatDays, ZonedDateTime after) {
+        LocalDate date = after.toLocalDate();
+
+        for (int offset = 0; offset <= 7; offset++) {
+            ZonedDateTime candidate = ZonedDateTime.of(date.plusDays(offset), alarmTime, after.getZone());
+
+            boolean onDay = repeatDays == RepeatDays.NONE || RepeatDays.includes(repeatDays, candidate.getDayOfWeek());
+
+            if (candidate.isAfter(after) && onDay) {
+                return candidate;
+            }
+        }
+
+        throw new IllegalStateException("No fire time within a week : " + alarmTime + ", " + repeatDays);
+    }
+}
@@ -0,0 +1,219 @@
+package com.lumiscape.smartwindow.alarm.scheduler;
+
+import com.lumiscape.smartwindow.alarm.domain.Alarm;
+import com.lumiscape.smartwindow.alarm.dto.FiredAlarm;
+import com.lumiscape.smartwindow.alarm.dto.ScheduledAlarm;
+import com.lumiscape.smartwindow.alarm.repository.AlarmScheduleRepository;
+import com.lumiscape.smartwindow.alarm.service.AlarmSyncService;
+import com.lumiscape.smartwindow.config.async.AsyncConfig;
+import com.lumiscape.smartwindow.device.dto.DeviceIdentity;
+import com.lumiscape.smartwindow.device.service.DeviceService;
+import com.lumiscape.smartwindow.global.outbox.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+// 활성 알람을 다음 발화 시각 기준으로 타이밍 휠에 올려 두고, 시각이 되면 디바이스 명령과 알림을 보낸다
+// 시작할 때 한 번만 전체를 읽고, 이후에는 알람 생성/수정/삭제 시 해당 알람만 다시 올린다
+@Slf4j
+@Component
+public class AlarmScheduler {
+
+    private static final int WHEEL_LEVELS = 4;
+
+    private final AlarmScheduleRepository alarmScheduleRepository;
+    private final AlarmSyncService alarmSyncService;
+    private final DeviceService deviceService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor alarmExecutor;
+
+    private final boolean enabled;
+    private final ZoneId zone;
+    private final int loadBatchSize;
+    private final HierarchicalTimingWheel<Long, ScheduledAlarm> wheel;
+
+    private final Counter firedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+    private final Timer lagTimer;
+
+    private volatile boolean loaded;
+
+    public AlarmScheduler(AlarmScheduleRepository alarmScheduleRepository,
+                          AlarmSyncService alarmSyncService,
+                          DeviceService deviceService,
+                          OutboxService outboxService,
+                          TransactionTemplate transactionTemplate,
+                          @Qualifier(AsyncConfig.ALARM_EXECUTOR) Executor alarmExecutor,
+                          @Value("${app.alarm.scheduler.enabled:true}") boolean enabled,
+                          @Value("${app.alarm.scheduler.zone:Asia/Seoul}") String zone,
+                          @Value("${app.alarm.scheduler.tick-ms:1000}") long tickMillis,
+                          @Value("${app.alarm.scheduler.load-batch-size:5000}") int loadBatchSize,
+                          MeterRegistry meterRegistry) {
+        this.alarmScheduleRepository = alarmScheduleRepository;
+        this.alarmSyncService = alarmSyncService;
+        this.deviceService = deviceService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.alarmExecutor = alarmExecutor;
+        this.enabled = enabled;
+        this.zone = ZoneId.of(zone);
+        this.loadBatchSize = loadBatchSize;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_LEVELS, System.currentTimeMillis());
+
+        this.firedCounter = meterRegistry.counter("alarm.scheduler.fired");
+        this.skippedCounter = meterRegistry.counter("alarm.scheduler.skipped");
+        this.failedCounter = meterRegistry.counter("alarm.scheduler.failed");
+        this.lagTimer = meterRegistry.timer("alarm.scheduler.lag");
+
+        Gauge.builder("alarm.scheduler.scheduled", wheel, HierarchicalTimingWheel::size)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveAlarms() {
+        if (!enabled) {
+            return;
+        }
+
+        long lastAlarmId = 0;
+        int count = 0;
+
+        while (true) {
+            List<ScheduledAlarm> batch = alarmScheduleRepository.findActiveAfter(lastAlarmId, loadBatchSize);
+
+            batch.forEach(this::scheduleNext);
+            count += batch.size();
+
+            if (batch.size() < loadBatchSize) {
+                break;
+            }
+
+            lastAlarmId = batch.get(batch.size() - 1).alarmId();
+        }
+
+        loaded = true;
+        log.info("[ Alarm Scheduler ] Loaded active alarms : {}", count);
+    }
+
+    @Scheduled(fixedRateString = "${app.alarm.scheduler.tick-ms:1000}")
+    public void tick() {
+        if (!loaded) {
+            return;
+        }
+
+        for (ScheduledAlarm alarm : wheel.advance(System.currentTimeMillis())) {
+            alarmExecutor.execute(() -> fire(alarm));
+        }
+    }
+
+    public void schedule(Alarm alarm) {
+        ScheduledAlarm scheduled = new ScheduledAlarm(alarm.getId(), alarm.getDevice().getId(), alarm.getAlarmTime(),
+                alarm.getRepeatDaysMask(), alarm.getSyncVersion(), null);
+        boolean active = alarm.isActive();
+
+        afterCommit(() -> {
+            if (active) {
+                scheduleNext(scheduled);
+            } else {
+                wheel.cancel(scheduled.alarmId());
+            }
+        });
+    }
+
+    public void cancel(Long alarmId) {
+        afterCommit(() -> wheel.cancel(alarmId));
+    }
+
+    private void fire(ScheduledAlarm alarm) {
+        try {
+            lagTimer.record(Math.max(0, System.currentTimeMillis() - alarm.fireAt().toEpochMilli()), TimeUnit.MILLISECONDS);
+
+            Optional<FiredAlarm> claimed = transactionTemplate.execute(status -> claim(alarm));
+
+            if (claimed == null || claimed.isEmpty()) {
+                // 다른 인스턴스가 이미 울렸거나, 이 인스턴스가 모르는 사이 알람이 바뀌었다
+                skippedCounter.increment();
+                alarmScheduleRepository.findActiveById(alarm.alarmId()).ifPresent(this::scheduleNext);
+                return;
+            }
+
+            if (!claimed.get().oneShot()) {
+                scheduleNext(alarm);
+            }
+
+            firedCounter.increment();
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("[ Alarm Scheduler ] Fire FAILED, alarm : {}", alarm.alarmId(), e);
+        }
+    }
+
+    // 발화 기록과 디바이스 명령, 알림을 한 트랜잭션으로 남겨, 기록된 발화는 인스턴스가 죽더라도 relay 가 전달한다
+    private Optional<FiredAlarm> claim(ScheduledAlarm alarm) {
+        Optional<FiredAlarm> claimed = alarmScheduleRepository.claimFire(alarm);
+
+        claimed.ifPresent(fired -> {
+            // 한 번만 울리는 알람은 비활성화되었으므로 디바이스가 다음 동기화에서 받을 수 있도록 버전을 올린다
+            if (fired.oneShot()) {
+                alarmScheduleRepository.updateSyncVersion(alarm.alarmId(), alarmSyncService.recordChange(fired.deviceId()));
+            }
+
+            DeviceIdentity device = deviceService.findIdentityById(fired.deviceId());
+
+            outboxService.publishCommand(device.deviceUniqueId(), "alarm/fire",
+                    Map.of("alarmId", alarm.alarmId(), "alarmName", fired.alarmName(), "firedAt", alarm.fireAt().toString()));
+            outboxService.sendNotification(device.userId(),
+                    "알람",
+                    device.deviceName() + " 의 " + fired.alarmName() + " 알람이 울렸습니다.");
+        });
+
+        return claimed;
+    }
+
+    private void scheduleNext(ScheduledAlarm alarm) {
+        ZonedDateTime next = AlarmFireTimes.next(alarm.alarmTime(), alarm.repeatDays(), ZonedDateTime.now(zone));
+        Instant fireAt = next.toInstant();
+
+        wheel.schedule(alarm.alarmId(), alarm.withFireAt(fireAt), fireAt.toEpochMilli());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+
+        action.run();
+    }
+}
@@ -0,0 +1,156 @@
+package com.lumiscape.smartwindow.alarm.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 레벨마다 64 칸을 두는 계층형 타이밍 휠
+// 레벨 i 의 한 칸은 64^i tick 을 덮고, 칸의 시작 시각이 되면 아래 레벨로 다시 나눠 넣는다
+// 등록, 취소, tick 진행 모두 전체 항목 수와 관계없이 상수 시간에 가깝게 동작한다
+public class HierarchicalTimingWheel<K, V> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final List<List<Set<Entry<K, V>>>> wheels = new ArrayList<>();
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+
+    // 휠이 담을 수 있는 범위보다 먼 항목과 이미 지난 항목
+    private final Set<Entry<K, V>> overflow = new LinkedHashSet<>();
+    private final Set<Entry<K, V>> overdue = new LinkedHashSet<>();
+
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMillis, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.currentTick = startMillis / tickMillis;
+
+        for (int level = 0; level < levels; level++) {
+            List<Set<Entry<K, V>>> slots = new ArrayList<>(SLOTS);
+
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new LinkedHashSet<>());
+            }
+
+            wheels.add(slots);
+        }
+    }
+
+    public synchronized void schedule(K key, V value, long deadlineMillis) {
+        cancel(key);
+
+        Entry<K, V> entry = new Entry<>(key, value, deadlineMillis / tickMillis);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    public synchronized V cancel(K key) {
+        Entry<K, V> entry = entries.remove(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        entry.bucket.remove(entry);
+        return entry.value;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // nowMillis 까지 tick 을 진행하고 만료된 값을 돌려준다
+    public synchronized List<V> advance(long nowMillis) {
+        List<V> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+
+        expire(overdue, Long.MAX_VALUE, expired);
+
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            for (int level = levels - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(wheels.get(level).get(slotOf(currentTick, level)));
+                }
+            }
+
+            if ((currentTick & ((1L << (SLOT_BITS * levels)) - 1)) == 0) {
+                cascade(overflow);
+            }
+
+            expire(wheels.get(0).get(slotOf(currentTick, 0)), currentTick, expired);
+            // 상위 레벨에서 내려오면서 마감 시각이 바로 지금인 항목
+            expire(overdue, currentTick, expired);
+        }
+
+        return expired;
+    }
+
+    private void place(Entry<K, V> entry) {
+        long delta = entry.deadlineTick - currentTick;
+
+        if (delta <= 0) {
+            add(overdue, entry);
+            return;
+        }
+
+        for (int level = 0; level < levels; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                add(wheels.get(level).get(slotOf(entry.deadlineTick, level)), entry);
+                return;
+            }
+        }
+
+        add(overflow, entry);
+    }
+
+    private void cascade(Set<Entry<K, V>> bucket) {
+        List<Entry<K, V>> moved = new ArrayList<>(bucket);
+        bucket.clear();
+
+        moved.forEach(this::place);
+    }
+
+    private void expire(Set<Entry<K, V>> bucket, long tick, List<V> expired) {
+        bucket.removeIf(entry -> {
+            if (entry.deadlineTick > tick) {
+                return false;
+            }
+
+            entries.remove(entry.key);
+            expired.add(entry.value);
+            return true;
+        });
+    }
+
+    private void add(Set<Entry<K, V>> bucket, Entry<K, V> entry) {
+        entry.bucket = bucket;
+        bucket.add(entry);
+    }
+
+    private int slotOf(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private static final class Entry<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long deadlineTick;
+        private Set<Entry<K, V>> bucket;
+
+        private Entry(K key, V value, long deadlineTick) {
+            this.key = key;
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -5,11 +5,14 @@ import com.lumiscape.smartwindow.alarm.dto.AlarmCreateRequest;
 import com.lumiscape.smartwindow.alarm.dto.AlarmResponse;
 import com.lumiscape.smartwindow.alarm.dto.AlarmUpdateRequest;
 import com.lumiscape.smartwindow.alarm.repository.AlarmRepository;
+import com.lumiscape.smartwindow.alarm.scheduler.AlarmScheduler;
 import com.lumiscape.smartwindow.device.domain.Device;
+import com.lumiscape.smartwindow.device.dto.DeviceIdentity;
 import com.lumiscape.smartwindow.device.service.DeviceService;
 import com.lumiscape.smartwindow.global.exception.CustomException;
 import com.lumiscape.smartwindow.global.exception.ErrorCode;
 import com.lumiscape.smartwindow.global.infra.MqttPublishService;
+import com.lumiscape.smartwindow.global.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,6 +31,9 @@ public class AlarmService {
     private final AlarmRepository alarmRepository;
     private final DeviceService deviceService;
     private final MqttPublishService mqttPublishService;
+    private final OutboxService outboxService;
+    private final AlarmSyncService alarmSyncService;
+    private final AlarmScheduler alarmScheduler;
 
     public List<AlarmResponse> getAllUserAlarms(Long userId) {
 
@@ -48,9 +54,12 @@ public class AlarmService {
                 .isActive(request.isActive())
                 .build();
 
+        alarm.markSynced(alarmSyncService.recordChange(device.getId()));
+
         Alarm savedAlarm = alarmRepository.save(alarm);
+        alarmScheduler.schedule(savedAlarm);
 
-        publishAlarmToDevice(device, "UPSERT", savedAlarm);
+        publishAlarmToDevice(device, "UPSERT", savedAlarm, savedAlarm.getSyncVersion());
 
         return AlarmResponse.from(savedAlarm);
     }
@@ -71,8 +80,10 @@ public class AlarmService {
                 request.repeatDays(),
                 request.isActive()
         );
+        alarm.markSynced(alarmSyncService.recordChange(alarm.getDevice().getId()));
+        alarmScheduler.schedule(alarm);
 
-        publishAlarmToDevice(alarm.getDevice(), "UPSERT", alarm);
+        publishAlarmToDevice(alarm.getDevice(), "UPSERT", alarm, alarm.getSyncVersion());
 
         return AlarmResponse.from(alarm);
     }
@@ -84,8 +95,10 @@ public class AlarmService {
         Device device = alarm.getDevice();
 
         alarmRepository.delete(alarm);
+        long version = alarmSyncService.recordDeletion(device.getId(), alarm.getId());
+        alarmScheduler.cancel(alarm.getId());
 
-        publishAlarmToDevice(device, "DELETE", alarm);
+        publishAlarmToDevice(device, "DELETE", alarm, version);
     }
 
     public List<AlarmResponse> getAlarmsByDevice(Long userId, Long deviceId) {
@@ -96,18 +109,25 @@ public class AlarmService {
                 .collect(Collectors.toList());
     }
 
-    public void publishAlarmListToDevice(String deviceUniqueId) {
-        Device device = deviceService.findByDeviceUniqueId(deviceUniqueId);
+    public void publishAlarmListToDevice(String deviceUniqueId, String requestPayload) {
+        DeviceIdentity device = deviceService.findIdentityByDeviceUniqueId(deviceUniqueId);
+
+        // 마지막 버전을 보내는 디바이스는 그 이후의 변경분만 받는다
+        Long knownVersion = alarmSyncService.parseKnownVersion(requestPayload);
+        if (knownVersion != null) {
+            alarmSyncService.syncToDevice(device, knownVersion);
+            return;
+        }
 
-        List<Alarm> allAlarms = alarmRepository.findAllByDeviceId(device.getId());
+        List<Alarm> allAlarms = alarmRepository.findAllByDeviceId(device.deviceId());
 
         List<AlarmResponse> alarmPayloads = allAlarms.stream()
                 .map(AlarmResponse::from)
                 .toList();
 
-        mqttPublishService.publishCommand(device.getDeviceUniqueId(), "alarm", alarmPayloads);
+        mqttPublishService.publishCommand(device.deviceUniqueId(), "alarm", alarmPayloads);
 
-        log.info("MQTT Publish : deviceUID = {}, Total : {}", device.getDeviceUniqueId(), alarmPayloads.size());
+        log.info("MQTT Publish : deviceUID = {}, Total : {}", device.deviceUniqueId(), alarmPayloads.size());
     }
 
     private Alarm findAlarmByUser(Long alarmId, Long userId) {
@@ -115,17 +135,19 @@ public class AlarmService {
                 .orElseThrow(() -> new CustomException(ErrorCode.ALARM_NOT_FOUND));
     }
 
-    private void publishAlarmToDevice(Device device, String action, Alarm alarm) {
+    // version 은 이 변경을 적용한 뒤의 알람 버전이며, 디바이스는 버전이 건너뛰면 sync 를 다시 요청한다
+    // 변경과 같은 트랜잭션으로 outbox 에 기록해, 롤백된 변경은 디바이스로 나가지 않는다
+    private void publishAlarmToDevice(Device device, String action, Alarm alarm, long version) {
         Map<String, Object> payload;
 
         if ("DELETE".equals(action)) {
-            payload = Map.of("action", "DELETE", "alarm", Map.of("alarmId", alarm.getId()));
+            payload = Map.of("action", "DELETE", "alarm", Map.of("alarmId", alarm.getId()), "version", version);
         } else {
-            payload = Map.of("action", "UPSERT", "alarm", AlarmResponse.from(alarm));
+            payload = Map.of("action", "UPSERT", "alarm", AlarmResponse.from(alarm), "version", version);
         }
 
-        mqttPublishService.publishCommand(device.getDeviceUniqueId(), "alarm", payload);
+        outboxService.publishCommand(device.getDeviceUniqueId(), "alarm", payload);
 
-        log.info("MQTT Publish : deviceUID = {}, Action = {}, AlarmId = {}", device.getDeviceUniqueId(), action, alarm.getId());
+        log.info("MQTT Outbox : deviceUID = {}, Action = {}, AlarmId = {}", device.getDeviceUniqueId(), action, alarm.getId());
     }
 }
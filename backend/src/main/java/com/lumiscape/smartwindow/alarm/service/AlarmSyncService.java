@@ -0,0 +1,117 @@
+package com.lumiscape.smartwindow.alarm.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumiscape.smartwindow.alarm.dto.AlarmSyncPayload;
+import com.lumiscape.smartwindow.alarm.dto.AlarmVersion;
+import com.lumiscape.smartwindow.alarm.repository.AlarmSyncRepository;
+import com.lumiscape.smartwindow.device.dto.DeviceIdentity;
+import com.lumiscape.smartwindow.global.infra.MqttPublishService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 디바이스마다 알람 버전을 두고, 디바이스가 알려준 버전 이후의 변경분만 보낸다
+@Slf4j
+@Service
+public class AlarmSyncService {
+
+    private static final String VERSION_FIELD = "version";
+
+    private final AlarmSyncRepository alarmSyncRepository;
+    private final MqttPublishService mqttPublishService;
+    private final ObjectMapper objectMapper;
+    private final Duration tombstoneRetention;
+
+    private final Counter fullCounter;
+    private final Counter deltaCounter;
+    private final Counter unchangedCounter;
+
+    public AlarmSyncService(AlarmSyncRepository alarmSyncRepository,
+                            MqttPublishService mqttPublishService,
+                            ObjectMapper objectMapper,
+                            @Value("${app.alarm.sync.tombstone-retention:30d}") Duration tombstoneRetention,
+                            MeterRegistry meterRegistry) {
+        this.alarmSyncRepository = alarmSyncRepository;
+        this.mqttPublishService = mqttPublishService;
+        this.objectMapper = objectMapper;
+        this.tombstoneRetention = tombstoneRetention;
+
+        this.fullCounter = meterRegistry.counter("alarm.sync", "type", "full");
+        this.deltaCounter = meterRegistry.counter("alarm.sync", "type", "delta");
+        this.unchangedCounter = meterRegistry.counter("alarm.sync", "type", "unchanged");
+    }
+
+    // devices 행 잠금으로 같은 디바이스의 알람 변경은 커밋 순서와 버전 순서가 같아진다
+    @Transactional
+    public long recordChange(Long deviceId) {
+        return alarmSyncRepository.nextVersion(deviceId);
+    }
+
+    @Transactional
+    public long recordDeletion(Long deviceId, Long alarmId) {
+        long version = alarmSyncRepository.nextVersion(deviceId);
+        alarmSyncRepository.insertTombstone(deviceId, alarmId, version);
+
+        return version;
+    }
+
+    @Transactional(readOnly = true)
+    public void syncToDevice(DeviceIdentity device, long knownVersion) {
+        // 버전을 먼저 읽어야 그 사이에 바뀐 알람이 다음 동기화에서 빠지지 않는다
+        AlarmVersion version = alarmSyncRepository.findVersion(device.deviceId()).orElse(new AlarmVersion(0, 0));
+        AlarmSyncPayload payload;
+
+        if (!version.canDeltaFrom(knownVersion)) {
+            payload = AlarmSyncPayload.snapshot(version.current(), alarmSyncRepository.findAlarms(device.deviceId()));
+            fullCounter.increment();
+        } else if (knownVersion == version.current()) {
+            payload = AlarmSyncPayload.delta(version.current(), List.of(), List.of());
+            unchangedCounter.increment();
+        } else {
+            payload = AlarmSyncPayload.delta(version.current(),
+                    alarmSyncRepository.findAlarmsSince(device.deviceId(), knownVersion),
+                    alarmSyncRepository.findTombstonesSince(device.deviceId(), knownVersion));
+            deltaCounter.increment();
+        }
+
+        mqttPublishService.publishCommand(device.deviceUniqueId(), "alarm/sync", payload);
+
+        log.debug("[ Alarm Sync ] device : {}, known : {}, current : {}, full : {}",
+                device.deviceUniqueId(), knownVersion, version.current(), payload.full());
+    }
+
+    @Scheduled(fixedDelayString = "${app.alarm.sync.tombstone-prune-interval-ms:3600000}")
+    @Transactional
+    public void pruneTombstones() {
+        int devices = alarmSyncRepository.pruneTombstones(LocalDateTime.now().minus(tombstoneRetention));
+
+        if (devices > 0) {
+            log.info("[ Alarm Sync ] Pruned tombstones, devices : {}", devices);
+        }
+    }
+
+    // 버전을 보내지 않는 디바이스는 null 을 돌려받아 기존 전체 목록 방식으로 처리된다
+    public Long parseKnownVersion(String requestPayload) {
+        if (requestPayload == null || requestPayload.isBlank()) {
+            return null;
+        }
+
+        try {
+            JsonNode version = objectMapper.readTree(requestPayload).get(VERSION_FIELD);
+
+            return version != null && version.canConvertToLong() ? version.asLong() : null;
+        } catch (Exception e) {
+            log.warn("[ Alarm Sync ] Invalid request payload : {}", requestPayload);
+            return null;
+        }
+    }
+}
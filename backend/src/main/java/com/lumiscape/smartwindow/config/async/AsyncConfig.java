@@ -0,0 +1,117 @@
+package com.lumiscape.smartwindow.config.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Configuration
+@EnableAsync
+@RequiredArgsConstructor
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String AI_TASK_EXECUTOR = "aiTaskExecutor";
+    public static final String MEDIA_EVENT_EXECUTOR = "mediaEventExecutor";
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String ALARM_EXECUTOR = "alarmExecutor";
+    public static final String MVC_ASYNC_EXECUTOR = "mvcAsyncExecutor";
+
+    private final MeterRegistry meterRegistry;
+    private final BeanFactory beanFactory;
+
+    @Bean(AI_TASK_EXECUTOR)
+    public AsyncTaskExecutor aiTaskExecutor(@Value("${app.async.ai.core-size:2}") int coreSize,
+                                            @Value("${app.async.ai.max-size:4}") int maxSize,
+                                            @Value("${app.async.ai.queue-capacity:200}") int queueCapacity) {
+        // 제출하는 쪽이 스케줄러 스레드이므로 대신 실행하지 않고 거절한다. 거절된 작업은 AIService 가 PENDING 으로 되돌린다
+        return createExecutor("ai-", coreSize, maxSize, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(MEDIA_EVENT_EXECUTOR)
+    public AsyncTaskExecutor mediaEventExecutor(@Value("${app.async.media-event.core-size:2}") int coreSize,
+                                                @Value("${app.async.media-event.max-size:8}") int maxSize,
+                                                @Value("${app.async.media-event.queue-capacity:500}") int queueCapacity) {
+        return createExecutor("media-event-", coreSize, maxSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Bean(NOTIFICATION_EXECUTOR)
+    public AsyncTaskExecutor notificationExecutor(@Value("${app.async.notification.core-size:4}") int coreSize,
+                                                  @Value("${app.async.notification.max-size:4}") int maxSize,
+                                                  @Value("${app.async.notification.queue-capacity:1000}") int queueCapacity) {
+        // 거절된 발송은 FcmDispatcher 가 backoff 후 재시도한다
+        return createExecutor("notification-", coreSize, maxSize, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(ALARM_EXECUTOR)
+    public AsyncTaskExecutor alarmExecutor(@Value("${app.async.alarm.core-size:2}") int coreSize,
+                                           @Value("${app.async.alarm.max-size:8}") int maxSize,
+                                           @Value("${app.async.alarm.queue-capacity:5000}") int queueCapacity) {
+        // 같은 시각에 몰린 알람이 넘치면 스케줄러 스레드가 직접 울려, 늦어지더라도 빠뜨리지 않는다
+        return createExecutor("alarm-", coreSize, maxSize, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Bean(MVC_ASYNC_EXECUTOR)
+    public AsyncTaskExecutor mvcAsyncExecutor(@Value("${app.async.mvc.core-size:8}") int coreSize,
+                                              @Value("${app.async.mvc.max-size:32}") int maxSize,
+                                              @Value("${app.async.mvc.queue-capacity:2000}") int queueCapacity) {
+        // SSE 쓰기가 밀려 거절되면 그 연결만 끊기고, 클라이언트는 Last-Event-ID 로 다시 이어받는다
+        return createExecutor("mvc-async-", coreSize, maxSize, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        // 이름 없이 선언된 @Async 는 미디어 이벤트 풀에서 실행한다
+        return beanFactory.getBean(MEDIA_EVENT_EXECUTOR, Executor.class);
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (e, method, params) -> log.error("Async task FAILED : {}.{}", method.getDeclaringClass().getSimpleName(), method.getName(), e);
+    }
+
+    private AsyncTaskExecutor createExecutor(String prefix, int coreSize, int maxSize, int queueCapacity,
+                                             RejectedExecutionHandler rejectionPolicy) {
+        String name = prefix.substring(0, prefix.length() - 1);
+        Counter rejectedCounter = meterRegistry.counter("executor.rejected", Tags.of("name", name));
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(prefix);
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler((runnable, pool) -> {
+            rejectedCounter.increment();
+            rejectionPolicy.rejectedExecution(runnable, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+
+        Gauge.builder("executor.queue.depth", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .tag("name", name)
+                .register(meterRegistry);
+
+        return executor;
+    }
+}
@@ -0,0 +1,24 @@
+package com.lumiscape.smartwindow.config.async;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// 직접 등록한 Executor 때문에 Boot 의 applicationTaskExecutor 가 만들어지지 않으므로,
+// MVC 비동기 처리가 요청마다 스레드를 만드는 SimpleAsyncTaskExecutor 로 떨어지지 않도록 지정한다
+@Configuration
+public class MvcAsyncConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor mvcAsyncExecutor;
+
+    public MvcAsyncConfig(@Qualifier(AsyncConfig.MVC_ASYNC_EXECUTOR) AsyncTaskExecutor mvcAsyncExecutor) {
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+    }
+}
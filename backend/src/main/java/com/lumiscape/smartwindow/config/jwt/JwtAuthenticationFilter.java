@@ -38,8 +38,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = resolveToken(request);
 
-            if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-                Authentication authentication = jwtTokenProvider.getAuthentication(token);
+            if (StringUtils.hasText(token)) {
+                Authentication authentication = jwtTokenProvider.authenticate(token);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 log.debug("Credentials saved in the Security Context : {}, URI : {}", authentication.getName(), request.getRequestURI());
             }
@@ -1,11 +1,16 @@
 package com.lumiscape.smartwindow.config.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.lumiscape.smartwindow.auth.dto.TokenResponse;
 import com.lumiscape.smartwindow.global.exception.CustomException;
 import com.lumiscape.smartwindow.global.exception.ErrorCode;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,14 +18,17 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,20 +39,38 @@ public class JwtTokenProvider {
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
     private Key key;
+    private JwtParser jwtParser;
+
+    // 서명 검증이 끝난 토큰의 인증 정보를 토큰 해시 기준으로 만료 시각까지 보관한다
+    private final Cache<String, CachedAuthentication> authenticationCache;
 
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.expiration}") long accessTokenExpiration,
-            @Value("${jwt.refresh-expiration}") long refreshTokenExpiration) {
+            @Value("${jwt.refresh-expiration}") long refreshTokenExpiration,
+            @Value("${app.jwt.auth-cache.max-size:10000}") long authCacheMaxSize,
+            MeterRegistry meterRegistry) {
         this.secret = secret;
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+
+        this.authenticationCache = Caffeine.newBuilder()
+                .maximumSize(authCacheMaxSize)
+                .expireAfter(Expiry.creating((String tokenHash, CachedAuthentication cached) ->
+                        Duration.ofMillis(Math.max(0, cached.expiresAt() - System.currentTimeMillis()))))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, authenticationCache, "jwtAuthentication");
     }
 
     @PostConstruct
     public void init() {
         byte[] keyBytes = Decoders.BASE64.decode(secret);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public TokenResponse generateTokenResponse(Authentication authentication) {
@@ -82,14 +108,36 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    public Authentication authenticate(String token) {
+        String tokenHash = hash(token);
+        CachedAuthentication cached = authenticationCache.getIfPresent(tokenHash);
+
+        if (cached == null) {
+            Claims claims = parseClaims(token);
+
+            cached = new CachedAuthentication(Long.parseLong(claims.getSubject()), toAuthorities(claims),
+                    claims.getExpiration().getTime());
+            authenticationCache.put(tokenHash, cached);
+        }
+
+        return new UsernamePasswordAuthenticationToken(cached.userId(), token, cached.authorities());
+    }
+
+    // refresh token 검증용. access token 인증은 authenticate 로 캐시를 거친다
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
+        parseClaims(token);
+
+        return true;
+    }
 
-            return true;
+    public Long getUserIdFromToken(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return Long.parseLong(claims.getSubject());
+    }
+
+    private Claims parseClaims(String token) {
+        try {
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (SecurityException | MalformedJwtException e) {
             log.warn("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -105,13 +153,7 @@ public class JwtTokenProvider {
         throw new CustomException(ErrorCode.INVALID_TOKEN);
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
+    private List<GrantedAuthority> toAuthorities(Claims claims) {
         if (claims.get("auth") == null) {
             // RefreshToken에는 auth 클레임이 없으므로, 이 경우 예외를 던지지 않고
             // 빈 권한 목록으로 인증 객체를 생성하거나, 다른 방식으로 처리해야 합니다.
@@ -119,23 +161,21 @@ public class JwtTokenProvider {
             throw new CustomException(ErrorCode.INVALID_TOKEN);
         }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays.stream(claims.get("auth").toString().split(","))
-                .map(SimpleGrantedAuthority::new)
+        return Arrays.stream(claims.get("auth").toString().split(","))
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
                 .toList();
+    }
 
-        // AuthenticationPrincipal UserDetails 미사용으로 Parsing 과정 생략
-        // UserDetails principal = new User(claims.getSubject(), "", authorities);
-        Long principal = Long.parseLong(claims.getSubject());
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return Long.parseLong(claims.getSubject());
+    private record CachedAuthentication(Long userId, List<GrantedAuthority> authorities, long expiresAt) {
     }
 }
@@ -1,13 +1,15 @@
 package com.lumiscape.smartwindow.config.mqtt;
 
-import com.lumiscape.smartwindow.global.infra.MqttPublishService;
+import com.lumiscape.smartwindow.global.infra.MqttOutboundPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.annotation.IntegrationComponentScan;
-import org.springframework.integration.annotation.MessagingGateway;
-import org.springframework.integration.annotation.ServiceActivator;
 import org.springframework.integration.channel.DirectChannel;
 import org.springframework.integration.config.EnableIntegration;
 import org.springframework.integration.mqtt.core.DefaultMqttPahoClientFactory;
@@ -15,11 +17,12 @@ import org.springframework.integration.mqtt.core.MqttPahoClientFactory;
 import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
 import org.springframework.integration.mqtt.outbound.MqttPahoMessageHandler;
 import org.springframework.integration.mqtt.support.DefaultPahoMessageConverter;
-import org.springframework.integration.mqtt.support.MqttHeaders;
-import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
-import org.springframework.messaging.MessageHandler;
-import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 @Configuration
 @EnableIntegration
@@ -38,10 +41,30 @@ public class MqttConfig {
     @Value("${mqtt.password}")
     private String password;
 
-    public static final String MQTT_OUTBOUND_CHANNEL = "mqttOutboundChannel";
+    // 여러 인스턴스가 같은 client id 로 접속해 서로 끊어내지 않도록 인스턴스마다 접미사를 붙인다
+    @Value("${mqtt.client.instance-id:}")
+    private String instanceId;
+
+    @Value("${mqtt.shared-subscription.enabled:false}")
+    private boolean sharedSubscriptionEnabled;
+
+    @Value("${mqtt.shared-subscription.group:smartwindow}")
+    private String sharedSubscriptionGroup;
+
+    private String instanceClientId;
+
     public static final String MQTT_STATUS_INPUT_CHANNEL = "mqttStatusInputChannel";
     public static final String MQTT_REQUEST_INPUT_CHANNEL = "mqttRequestInputChannel";
 
+    @PostConstruct
+    public void initInstanceClientId() {
+        String suffix = StringUtils.hasText(instanceId)
+                ? instanceId
+                : UUID.randomUUID().toString().substring(0, 8);
+
+        this.instanceClientId = clientId + "_" + suffix;
+    }
+
     @Bean
     public MqttPahoClientFactory mqttClientFactory() {
 
@@ -61,24 +84,29 @@ public class MqttConfig {
     }
 
     @Bean
-    public MessageChannel mqttOutboundChannel() {
-        return new DirectChannel();
-    }
-
-    @Bean
-    @ServiceActivator(inputChannel = MQTT_OUTBOUND_CHANNEL)
-    public MessageHandler mqttOutbound() {
-        MqttPahoMessageHandler messageHandler = new MqttPahoMessageHandler(clientId + "_outbound", mqttClientFactory());
-
-        messageHandler.setAsync(true);
-        messageHandler.setDefaultQos(1);
-
-        return messageHandler;
-    }
-
-    @MessagingGateway(defaultRequestChannel = MQTT_OUTBOUND_CHANNEL)
-    public interface MqttPublishGateway {
-        void publish(@Header(MqttHeaders.TOPIC) String topic, String payload);
+    public MqttOutboundPool mqttOutboundPool(@Value("${app.mqtt.outbound.connections:4}") int connections,
+                                             @Value("${app.mqtt.outbound.queue-capacity:1000}") int queueCapacity,
+                                             @Value("${app.mqtt.outbound.enqueue-timeout-ms:200}") long enqueueTimeoutMillis,
+                                             @Value("${app.mqtt.outbound.delivery-timeout-ms:5000}") long deliveryTimeoutMillis,
+                                             BeanFactory beanFactory,
+                                             ApplicationEventPublisher eventPublisher,
+                                             MeterRegistry meterRegistry) {
+        List<MqttPahoMessageHandler> handlers = new ArrayList<>(connections);
+
+        for (int i = 0; i < connections; i++) {
+            MqttPahoMessageHandler messageHandler = new MqttPahoMessageHandler(instanceClientId + "_outbound_" + i, mqttClientFactory());
+
+            messageHandler.setAsync(true);
+            messageHandler.setAsyncEvents(true);
+            messageHandler.setDefaultQos(1);
+            messageHandler.setBeanFactory(beanFactory);
+            messageHandler.setApplicationEventPublisher(eventPublisher);
+            messageHandler.afterPropertiesSet();
+
+            handlers.add(messageHandler);
+        }
+
+        return new MqttOutboundPool(handlers, queueCapacity, enqueueTimeoutMillis, deliveryTimeoutMillis, meterRegistry);
     }
 
     @Bean
@@ -88,10 +116,10 @@ public class MqttConfig {
 
     @Bean
     public MqttPahoMessageDrivenChannelAdapter inboundStatusAdapter() {
-        String statusTopic = "/devices/+/status/+";
+        String statusTopic = subscriptionTopic("/devices/+/status/+");
 
         MqttPahoMessageDrivenChannelAdapter adapter = new MqttPahoMessageDrivenChannelAdapter(
-                clientId + "_inbound_status", mqttClientFactory(), statusTopic);
+                instanceClientId + "_inbound_status", mqttClientFactory(), statusTopic);
 
         adapter.setCompletionTimeout(5000);
         adapter.setConverter(new DefaultPahoMessageConverter());
@@ -108,10 +136,10 @@ public class MqttConfig {
 
     @Bean
     public MqttPahoMessageDrivenChannelAdapter inboundRequestAdapter() {
-        String requestTopic = "/devices/+/request/+";
+        String requestTopic = subscriptionTopic("/devices/+/request/+");
 
         MqttPahoMessageDrivenChannelAdapter adapter = new MqttPahoMessageDrivenChannelAdapter(
-                clientId + "_inbound_request", mqttClientFactory(), requestTopic);
+                instanceClientId + "_inbound_request", mqttClientFactory(), requestTopic);
 
         adapter.setCompletionTimeout(5000);
         adapter.setConverter(new DefaultPahoMessageConverter());
@@ -120,4 +148,13 @@ public class MqttConfig {
 
         return adapter;
     }
+
+    // 공유 구독을 켜면 같은 group 의 인스턴스 중 하나에만 메시지가 전달된다
+    private String subscriptionTopic(String topic) {
+        if (!sharedSubscriptionEnabled) {
+            return topic;
+        }
+
+        return "$share/" + sharedSubscriptionGroup + "/" + topic;
+    }
 }
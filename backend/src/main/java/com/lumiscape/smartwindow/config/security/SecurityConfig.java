@@ -2,6 +2,7 @@ package com.lumiscape.smartwindow.config.security;
 
 import com.lumiscape.smartwindow.config.ai.AITokenAuthFilter;
 import com.lumiscape.smartwindow.config.jwt.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
 
                 .authorizeHttpRequests(authorize -> authorize
+                        // SSE 스트림의 비동기 디스패치는 최초 요청에서 이미 인증되었다
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/", "/login/**", "/oauth2/**", "/swagger-ui/**", "/v3/api-docs/**", "/auth/success", "/tokens/reissue").permitAll()
                         .requestMatchers("/api/v1/media/ai-upload-url", "/api/v1/media/ai-callback", "/api/v1/musics/ai-callback").hasRole("AI_SERVER")
                         .anyRequest().authenticated()
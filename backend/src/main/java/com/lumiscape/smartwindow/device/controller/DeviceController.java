@@ -3,12 +3,16 @@ package com.lumiscape.smartwindow.device.controller;
 import com.lumiscape.smartwindow.alarm.dto.AlarmResponse;
 import com.lumiscape.smartwindow.alarm.service.AlarmService;
 import com.lumiscape.smartwindow.device.dto.*;
+import com.lumiscape.smartwindow.device.service.DevicePermissionService;
 import com.lumiscape.smartwindow.device.service.DeviceService;
 import com.lumiscape.smartwindow.global.common.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -18,6 +22,7 @@ import java.util.List;
 public class DeviceController {
 
     private final DeviceService deviceService;
+    private final DevicePermissionService devicePermissionService;
     private final AlarmService alarmService;
 
     @GetMapping
@@ -60,6 +65,46 @@ public class DeviceController {
         return ApiResponse.onSuccess();
     }
 
+    @GetMapping("/{device-id}/permissions")
+    public ApiResponse<List<DevicePermissionResponse>> getPermissions(@AuthenticationPrincipal Long userId,
+                                                                      @PathVariable("device-id") Long deviceId) {
+        List<DevicePermissionResponse> responses = devicePermissionService.getPermissions(userId, deviceId);
+
+        return ApiResponse.onSuccess(responses);
+    }
+
+    @PutMapping("/{device-id}/permissions")
+    public ApiResponse<DevicePermissionResponse> grantPermission(@AuthenticationPrincipal Long userId,
+                                                                 @PathVariable("device-id") Long deviceId,
+                                                                 @RequestBody DevicePermissionRequest request) {
+        DevicePermissionResponse response = devicePermissionService.grantPermission(userId, deviceId, request);
+
+        return ApiResponse.onSuccess(response);
+    }
+
+    @DeleteMapping("/{device-id}/permissions/{user-id}")
+    public ApiResponse<?> revokePermission(@AuthenticationPrincipal Long userId,
+                                           @PathVariable("device-id") Long deviceId,
+                                           @PathVariable("user-id") Long targetUserId) {
+        devicePermissionService.revokePermission(userId, deviceId, targetUserId);
+
+        return ApiResponse.onSuccess();
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<DeviceStateEvent>> streamDeviceEvents(@AuthenticationPrincipal Long userId,
+                                                                      @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return deviceService.streamDeviceEvents(userId, lastEventId);
+    }
+
+    @PostMapping("/commands")
+    public ApiResponse<DeviceBulkCommandResponse> controlDevices(@AuthenticationPrincipal Long userId,
+                                                                @RequestBody DeviceBulkCommandRequest request) {
+        DeviceBulkCommandResponse response = deviceService.controlDevices(userId, request);
+
+        return ApiResponse.onSuccess(response);
+    }
+
     @GetMapping("/{device-id}/power")
     public ApiResponse<DeviceStatusResponse> getPowerStatus(@AuthenticationPrincipal Long userId,
                                                             @PathVariable("device-id") Long deviceId) {
@@ -0,0 +1,88 @@
+package com.lumiscape.smartwindow.device.controller;
+
+import com.lumiscape.smartwindow.device.dto.*;
+import com.lumiscape.smartwindow.device.service.DeviceGroupService;
+import com.lumiscape.smartwindow.device.service.DeviceService;
+import com.lumiscape.smartwindow.global.common.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/device-groups")
+@RequiredArgsConstructor
+public class DeviceGroupController {
+
+    private final DeviceGroupService deviceGroupService;
+    private final DeviceService deviceService;
+
+    @GetMapping
+    public ApiResponse<List<DeviceGroupResponse>> getMyGroups(@AuthenticationPrincipal Long userId) {
+        List<DeviceGroupResponse> responses = deviceGroupService.getMyGroups(userId);
+
+        return ApiResponse.onSuccess(responses);
+    }
+
+    @PostMapping
+    public ApiResponse<DeviceGroupResponse> createGroup(@AuthenticationPrincipal Long userId,
+                                                        @RequestBody DeviceGroupRequest request) {
+        DeviceGroupResponse response = deviceGroupService.createGroup(userId, request);
+
+        return ApiResponse.onSuccess(HttpStatus.CREATED, response);
+    }
+
+    @GetMapping("/{group-id}")
+    public ApiResponse<DeviceGroupResponse> getGroup(@AuthenticationPrincipal Long userId,
+                                                     @PathVariable("group-id") Long groupId) {
+        DeviceGroupResponse response = deviceGroupService.getGroup(userId, groupId);
+
+        return ApiResponse.onSuccess(response);
+    }
+
+    @PatchMapping("/{group-id}")
+    public ApiResponse<DeviceGroupResponse> updateGroupName(@AuthenticationPrincipal Long userId,
+                                                            @PathVariable("group-id") Long groupId,
+                                                            @RequestBody DeviceGroupRequest request) {
+        DeviceGroupResponse response = deviceGroupService.updateGroupName(userId, groupId, request);
+
+        return ApiResponse.onSuccess(response);
+    }
+
+    @DeleteMapping("/{group-id}")
+    public ApiResponse<?> deleteGroup(@AuthenticationPrincipal Long userId,
+                                      @PathVariable("group-id") Long groupId) {
+        deviceGroupService.deleteGroup(userId, groupId);
+
+        return ApiResponse.onSuccess();
+    }
+
+    @PostMapping("/{group-id}/devices")
+    public ApiResponse<DeviceGroupResponse> addDevice(@AuthenticationPrincipal Long userId,
+                                                      @PathVariable("group-id") Long groupId,
+                                                      @RequestBody DeviceGroupMemberRequest request) {
+        DeviceGroupResponse response = deviceGroupService.addDevice(userId, groupId, request);
+
+        return ApiResponse.onSuccess(response);
+    }
+
+    @DeleteMapping("/{group-id}/devices/{device-id}")
+    public ApiResponse<DeviceGroupResponse> removeDevice(@AuthenticationPrincipal Long userId,
+                                                         @PathVariable("group-id") Long groupId,
+                                                         @PathVariable("device-id") Long deviceId) {
+        DeviceGroupResponse response = deviceGroupService.removeDevice(userId, groupId, deviceId);
+
+        return ApiResponse.onSuccess(response);
+    }
+
+    @PostMapping("/{group-id}/commands")
+    public ApiResponse<DeviceBulkCommandResponse> controlGroup(@AuthenticationPrincipal Long userId,
+                                                              @PathVariable("group-id") Long groupId,
+                                                              @RequestBody DeviceBulkCommandRequest request) {
+        DeviceBulkCommandResponse response = deviceService.controlGroup(userId, groupId, request);
+
+        return ApiResponse.onSuccess(response);
+    }
+}
@@ -0,0 +1,59 @@
+package com.lumiscape.smartwindow.device.domain;
+
+import com.lumiscape.smartwindow.user.domain.entity.User;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "device_groups")
+public class DeviceGroup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "group_name", nullable = false, length = 100)
+    private String groupName;
+
+    @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<DeviceGroupMember> members = new ArrayList<>();
+
+    @Builder
+    public DeviceGroup(User user, String groupName) {
+        this.user = user;
+        this.groupName = groupName;
+    }
+
+    public void updateName(String groupName) {
+        this.groupName = groupName;
+    }
+
+    public boolean addMember(Device device) {
+        if (hasMember(device.getId())) {
+            return false;
+        }
+
+        members.add(new DeviceGroupMember(this, device));
+        return true;
+    }
+
+    public boolean removeMember(Long deviceId) {
+        return members.removeIf(member -> member.getId().getDeviceId().equals(deviceId));
+    }
+
+    private boolean hasMember(Long deviceId) {
+        return members.stream().anyMatch(member -> member.getId().getDeviceId().equals(deviceId));
+    }
+}
@@ -0,0 +1,32 @@
+package com.lumiscape.smartwindow.device.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "device_group_members")
+public class DeviceGroupMember {
+
+    @EmbeddedId
+    private DeviceGroupMemberId id;
+
+    @MapsId("groupId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id")
+    private DeviceGroup group;
+
+    @MapsId("deviceId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "device_id")
+    private Device device;
+
+    public DeviceGroupMember(DeviceGroup group, Device device) {
+        this.id = new DeviceGroupMemberId(group.getId(), device.getId());
+        this.group = group;
+        this.device = device;
+    }
+}
@@ -0,0 +1,25 @@
+package com.lumiscape.smartwindow.device.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DeviceGroupMemberId implements Serializable {
+
+    @Column(name = "group_id")
+    private Long groupId;
+
+    @Column(name = "device_id")
+    private Long deviceId;
+}
@@ -0,0 +1,43 @@
+package com.lumiscape.smartwindow.device.domain;
+
+public record PendingDeviceState(
+        Boolean powerStatus,
+        Boolean openStatus,
+        Boolean opacityStatus,
+        DeviceMode modeStatus
+) {
+
+    public static final PendingDeviceState EMPTY = new PendingDeviceState(null, null, null, null);
+
+    public PendingDeviceState withPower(boolean powerStatus) {
+        return new PendingDeviceState(powerStatus, openStatus, opacityStatus, modeStatus);
+    }
+
+    public PendingDeviceState withOpen(boolean openStatus) {
+        return new PendingDeviceState(powerStatus, openStatus, opacityStatus, modeStatus);
+    }
+
+    public PendingDeviceState withOpacity(boolean opacityStatus) {
+        return new PendingDeviceState(powerStatus, openStatus, opacityStatus, modeStatus);
+    }
+
+    public PendingDeviceState withMode(DeviceMode modeStatus) {
+        return new PendingDeviceState(powerStatus, openStatus, opacityStatus, modeStatus);
+    }
+
+    public boolean powerOr(boolean fallback) {
+        return powerStatus != null ? powerStatus : fallback;
+    }
+
+    public boolean openOr(boolean fallback) {
+        return openStatus != null ? openStatus : fallback;
+    }
+
+    public boolean opacityOr(boolean fallback) {
+        return opacityStatus != null ? opacityStatus : fallback;
+    }
+
+    public DeviceMode modeOr(DeviceMode fallback) {
+        return modeStatus != null ? modeStatus : fallback;
+    }
+}
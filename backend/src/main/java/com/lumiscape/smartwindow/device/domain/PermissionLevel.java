@@ -0,0 +1,6 @@
+package com.lumiscape.smartwindow.device.domain;
+
+public enum PermissionLevel {
+    OWNER,
+    MEMBER,
+}
@@ -0,0 +1,46 @@
+package com.lumiscape.smartwindow.device.domain;
+
+import com.lumiscape.smartwindow.user.domain.entity.User;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "user_device_permissions")
+public class UserDevicePermission {
+
+    @EmbeddedId
+    private UserDevicePermissionId id;
+
+    @MapsId("userId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @MapsId("deviceId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "device_id")
+    private Device device;
+
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "permission_level", columnDefinition = "permission_level_enum")
+    private PermissionLevel permissionLevel;
+
+    @Builder
+    public UserDevicePermission(User user, Device device, PermissionLevel permissionLevel) {
+        this.id = new UserDevicePermissionId(user.getId(), device.getId());
+        this.user = user;
+        this.device = device;
+        this.permissionLevel = permissionLevel;
+    }
+
+    public void updateLevel(PermissionLevel permissionLevel) {
+        this.permissionLevel = permissionLevel;
+    }
+}
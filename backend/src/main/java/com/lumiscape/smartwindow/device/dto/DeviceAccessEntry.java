@@ -0,0 +1,9 @@
+package com.lumiscape.smartwindow.device.dto;
+
+import com.lumiscape.smartwindow.device.domain.PermissionLevel;
+
+public record DeviceAccessEntry(
+        Long deviceId,
+        PermissionLevel permissionLevel
+) {
+}
@@ -0,0 +1,12 @@
+package com.lumiscape.smartwindow.device.dto;
+
+import java.util.List;
+
+public record DeviceBulkCommandRequest(
+        List<Long> deviceIds,
+        Long groupId,
+        String command,
+        Boolean status,
+        String mode
+) {
+}
@@ -0,0 +1,15 @@
+package com.lumiscape.smartwindow.device.dto;
+
+import java.util.List;
+
+public record DeviceBulkCommandResponse(
+        int requested,
+        int succeeded,
+        List<DeviceCommandResult> results
+) {
+    public static DeviceBulkCommandResponse of(List<DeviceCommandResult> results) {
+        int succeeded = (int) results.stream().filter(DeviceCommandResult::success).count();
+
+        return new DeviceBulkCommandResponse(results.size(), succeeded, results);
+    }
+}
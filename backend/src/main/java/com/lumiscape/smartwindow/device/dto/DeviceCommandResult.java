@@ -0,0 +1,17 @@
+package com.lumiscape.smartwindow.device.dto;
+
+import com.lumiscape.smartwindow.global.exception.ErrorCode;
+
+public record DeviceCommandResult(
+        Long deviceId,
+        boolean success,
+        String errorCode
+) {
+    public static DeviceCommandResult success(Long deviceId) {
+        return new DeviceCommandResult(deviceId, true, null);
+    }
+
+    public static DeviceCommandResult failure(Long deviceId, ErrorCode errorCode) {
+        return new DeviceCommandResult(deviceId, false, errorCode.getCode());
+    }
+}
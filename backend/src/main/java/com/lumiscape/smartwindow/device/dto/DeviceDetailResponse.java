@@ -2,6 +2,7 @@ package com.lumiscape.smartwindow.device.dto;
 
 import com.lumiscape.smartwindow.device.domain.Device;
 import com.lumiscape.smartwindow.device.domain.DeviceMode;
+import com.lumiscape.smartwindow.device.domain.PendingDeviceState;
 
 import java.time.OffsetDateTime;
 import java.util.Map;
@@ -21,14 +22,18 @@ public record DeviceDetailResponse(
 ) {
 
     public static DeviceDetailResponse from(Device device) {
+        return from(device, PendingDeviceState.EMPTY);
+    }
+
+    public static DeviceDetailResponse from(Device device, PendingDeviceState pending) {
         return new DeviceDetailResponse(
                 device.getId(),
                 device.getDeviceUniqueId(),
                 device.getDeviceName(),
-                device.isPowerStatus(),
-                device.isOpenStatus(),
-                device.isOpacityStatus(),
-                device.getModeStatus(),
+                pending.powerOr(device.isPowerStatus()),
+                pending.openOr(device.isOpenStatus()),
+                pending.opacityOr(device.isOpacityStatus()),
+                pending.modeOr(device.getModeStatus()),
                 device.getModeSettings(),
                 device.getMedia() != null ? device.getMedia().getId() : null,
                 device.getMusic() != null ? device.getMusic().getId() : null,
@@ -0,0 +1,6 @@
+package com.lumiscape.smartwindow.device.dto;
+
+public record DeviceGroupMemberRequest(
+        Long deviceId
+) {
+}
@@ -0,0 +1,29 @@
+package com.lumiscape.smartwindow.device.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+public record DeviceGroupMembership(
+        Long groupId,
+        Long userId,
+        List<DeviceTarget> targets,
+        Map<String, Map<Long, String>> topicsByCommand
+) {
+    public static DeviceGroupMembership of(Long groupId, Long userId, List<DeviceTarget> targets) {
+        return new DeviceGroupMembership(groupId, userId, List.copyOf(targets), new ConcurrentHashMap<>());
+    }
+
+    public List<Long> deviceIds() {
+        return targets.stream().map(DeviceTarget::deviceId).toList();
+    }
+
+    // 멤버별 topic 은 명령마다 한 번만 만들고 이후 그룹 명령에서 그대로 재사용한다
+    public Map<Long, String> topicsFor(String command, BiFunction<String, String, String> topicResolver) {
+        return topicsByCommand.computeIfAbsent(command, key -> targets.stream()
+                .collect(Collectors.toUnmodifiableMap(DeviceTarget::deviceId,
+                        target -> topicResolver.apply(target.deviceUniqueId(), key))));
+    }
+}
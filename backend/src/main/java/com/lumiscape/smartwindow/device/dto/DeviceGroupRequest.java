@@ -0,0 +1,6 @@
+package com.lumiscape.smartwindow.device.dto;
+
+public record DeviceGroupRequest(
+        String groupName
+) {
+}
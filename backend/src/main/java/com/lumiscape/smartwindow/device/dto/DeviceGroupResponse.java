@@ -0,0 +1,22 @@
+package com.lumiscape.smartwindow.device.dto;
+
+import com.lumiscape.smartwindow.device.domain.DeviceGroup;
+
+import java.util.List;
+
+public record DeviceGroupResponse(
+        Long groupId,
+        String groupName,
+        List<Long> deviceIds
+) {
+
+    public static DeviceGroupResponse from(DeviceGroup group) {
+        return new DeviceGroupResponse(
+                group.getId(),
+                group.getGroupName(),
+                group.getMembers().stream()
+                        .map(member -> member.getId().getDeviceId())
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package com.lumiscape.smartwindow.device.dto;
+
+public record DeviceIdentity(
+        Long deviceId,
+        String deviceUniqueId,
+        Long userId,
+        String deviceName
+) {
+}
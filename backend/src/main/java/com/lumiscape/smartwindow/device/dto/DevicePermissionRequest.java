@@ -0,0 +1,7 @@
+package com.lumiscape.smartwindow.device.dto;
+
+public record DevicePermissionRequest(
+        Long userId,
+        String permissionLevel
+) {
+}
@@ -0,0 +1,19 @@
+package com.lumiscape.smartwindow.device.dto;
+
+import com.lumiscape.smartwindow.device.domain.PermissionLevel;
+import com.lumiscape.smartwindow.device.domain.UserDevicePermission;
+
+public record DevicePermissionResponse(
+        Long userId,
+        Long deviceId,
+        PermissionLevel permissionLevel
+) {
+
+    public static DevicePermissionResponse from(UserDevicePermission permission) {
+        return new DevicePermissionResponse(
+                permission.getId().getUserId(),
+                permission.getId().getDeviceId(),
+                permission.getPermissionLevel()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.lumiscape.smartwindow.device.dto;
+
+import java.time.OffsetDateTime;
+
+public record DeviceStateEvent(
+        long eventId,
+        Long deviceId,
+        String type,
+        Object status,
+        OffsetDateTime occurredAt
+) {
+}
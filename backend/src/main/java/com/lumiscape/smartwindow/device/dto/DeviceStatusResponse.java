@@ -1,6 +1,7 @@
 package com.lumiscape.smartwindow.device.dto;
 
 import com.lumiscape.smartwindow.device.domain.Device;
+import com.lumiscape.smartwindow.device.domain.PendingDeviceState;
 
 public record DeviceStatusResponse(
         Long deviceId,
@@ -18,4 +19,12 @@ public record DeviceStatusResponse(
     public static DeviceStatusResponse ofOpacity(Device device) {
         return new DeviceStatusResponse(device.getId(), device.isOpacityStatus());
     }
+
+    public static DeviceStatusResponse ofPower(Device device, PendingDeviceState pending) {
+        return new DeviceStatusResponse(device.getId(), pending.powerOr(device.isPowerStatus()));
+    }
+
+    public static DeviceStatusResponse ofOpen(Device device, PendingDeviceState pending) {
+        return new DeviceStatusResponse(device.getId(), pending.openOr(device.isOpenStatus()));
+    }
 }
@@ -0,0 +1,7 @@
+package com.lumiscape.smartwindow.device.dto;
+
+public record DeviceTarget(
+        Long deviceId,
+        String deviceUniqueId
+) {
+}
@@ -1,14 +1,17 @@
 package com.lumiscape.smartwindow.device.listener;
 
+import com.lumiscape.smartwindow.config.async.AsyncConfig;
 import com.lumiscape.smartwindow.device.service.DeviceService;
 import com.lumiscape.smartwindow.media.event.MediaUploadEvent;
 import com.lumiscape.smartwindow.media.event.MediaDeletedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+// 미디어 변경이 커밋된 뒤에만 실행되어, 아직 보이지 않는 행을 읽거나 롤백된 변경을 디바이스로 보내지 않는다
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -16,29 +19,25 @@ public class DeviceMediaUpdateListener {
 
     private final DeviceService deviceService;
 
-    @Async
-    @EventListener
+    @Async(AsyncConfig.MEDIA_EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleMediaUpload(MediaUploadEvent event) {
         try {
-            if (event.deviceId() != null) {
-                deviceService.updateDeviceMedia(event.userId(), event.deviceId(), event.mediaId());
-                log.info("Successfully updated device media for deviceId : {}", event.deviceId());
-            }
+            deviceService.applyUploadedMedia(event.deviceId(), event.deviceUniqueId(), event.mediaId(), event.mediaUrl());
+            log.info("Successfully updated device media for deviceId : {}", event.deviceId());
         } catch (Exception e) {
             log.error("Failed to update device media for deviceId : {}\n Error : {}", event.deviceId(), e.getMessage(), e);
         }
     }
 
-    @Async
-    @EventListener
+    @Async(AsyncConfig.MEDIA_EVENT_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleMediaDeleted(MediaDeletedEvent event) {
         try {
-            if (event.mediaId() != null) {
-                deviceService.deleteDevicesMedia(event.userId(), event.mediaId());
-                log.info("Successfully deleted device media by mediaId : {}", event.mediaId());
-            }
+            deviceService.publishReplacedMedia(event.deviceUniqueIds(), event.replacementMediaId(), event.replacementObjectKey());
+            log.info("Successfully replaced device media, devices : {}", event.deviceUniqueIds().size());
         } catch (Exception e) {
-            log.error("Failed to delete device media by mediaId : {}\n Error : {}", event.mediaId(), e.getMessage(), e);
+            log.error("Failed to replace device media, devices : {}\n Error : {}", event.deviceUniqueIds(), e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
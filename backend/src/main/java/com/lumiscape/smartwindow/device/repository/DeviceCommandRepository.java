@@ -0,0 +1,133 @@
+package com.lumiscape.smartwindow.device.repository;
+
+import com.lumiscape.smartwindow.device.domain.DeviceMode;
+import com.lumiscape.smartwindow.device.dto.DeviceTarget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// 제어 요청은 엔티티를 읽지 않고 접근 권한 확인과 상태 변경을 UPDATE 한 번으로 처리한다
+// 권한 캐시는 인스턴스마다 따로 있어 회수가 늦게 반영될 수 있으므로, 변경은 항상 DB 의 소유자와 공유 목록으로 확인한다
+@Repository
+@RequiredArgsConstructor
+public class DeviceCommandRepository {
+
+    private static final String ACCESS_CONDITION =
+            " AND (user_id = ? OR EXISTS (SELECT 1 FROM user_device_permissions p "
+                    + "WHERE p.device_id = devices.id AND p.user_id = ?))";
+
+    private static final String UPDATE_POWER_SQL =
+            "UPDATE devices SET power_status = ? WHERE id = ?"
+                    + ACCESS_CONDITION + " RETURNING device_unique_id";
+    private static final String UPDATE_OPEN_SQL =
+            "UPDATE devices SET open_status = ? WHERE id = ?"
+                    + ACCESS_CONDITION + " RETURNING device_unique_id";
+    private static final String UPDATE_OPACITY_SQL =
+            "UPDATE devices SET opacity_status = ? WHERE id = ?"
+                    + ACCESS_CONDITION + " RETURNING device_unique_id";
+    private static final String UPDATE_MODE_SQL =
+            "UPDATE devices SET mode_status = CAST(? AS device_mode_enum) WHERE id = ?"
+                    + ACCESS_CONDITION + " RETURNING device_unique_id";
+    private static final String UPDATE_MEDIA_SQL =
+            "UPDATE devices SET media_id = ? WHERE id = ? RETURNING device_unique_id";
+    private static final String REPLACE_MEDIA_SQL =
+            "UPDATE devices SET media_id = ? "
+                    + "WHERE media_id IN (SELECT id FROM media WHERE id = ? OR parent_media_id = ?) "
+                    + "RETURNING id, device_unique_id";
+
+    private static final String BULK_UPDATE_POWER_SQL =
+            "UPDATE devices SET power_status = ? WHERE id = ANY(?)"
+                    + ACCESS_CONDITION + " RETURNING id, device_unique_id";
+    private static final String BULK_UPDATE_OPEN_SQL =
+            "UPDATE devices SET open_status = ? WHERE id = ANY(?)"
+                    + ACCESS_CONDITION + " RETURNING id, device_unique_id";
+    private static final String BULK_UPDATE_OPACITY_SQL =
+            "UPDATE devices SET opacity_status = ? WHERE id = ANY(?)"
+                    + ACCESS_CONDITION + " RETURNING id, device_unique_id";
+    private static final String BULK_UPDATE_MODE_SQL =
+            "UPDATE devices SET mode_status = CAST(? AS device_mode_enum) WHERE id = ANY(?)"
+                    + ACCESS_CONDITION + " RETURNING id, device_unique_id";
+
+    private static final RowMapper<DeviceTarget> TARGET_ROW_MAPPER = (rs, rowNum) ->
+            new DeviceTarget(rs.getLong("id"), rs.getString("device_unique_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<String> updatePower(Long deviceId, Long userId, boolean status) {
+        return update(UPDATE_POWER_SQL, status, deviceId, userId);
+    }
+
+    public Optional<String> updateOpen(Long deviceId, Long userId, boolean status) {
+        return update(UPDATE_OPEN_SQL, status, deviceId, userId);
+    }
+
+    public Optional<String> updateOpacity(Long deviceId, Long userId, boolean status) {
+        return update(UPDATE_OPACITY_SQL, status, deviceId, userId);
+    }
+
+    public Optional<String> updateMode(Long deviceId, Long userId, DeviceMode mode) {
+        return update(UPDATE_MODE_SQL, mode.name(), deviceId, userId);
+    }
+
+    // 업로드 요청에서 이미 접근 권한을 확인한 디바이스에 커밋 후 적용한다
+    public Optional<String> updateMedia(Long deviceId, Long mediaId) {
+        return jdbcTemplate.queryForList(UPDATE_MEDIA_SQL, String.class, mediaId, deviceId).stream().findFirst();
+    }
+
+    // 미디어와 그 AI 이미지를 보여 주던 디바이스를 한 번에 바꾼다
+    public List<DeviceTarget> replaceMediaWithChildren(Long mediaId, Long replacementMediaId) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(REPLACE_MEDIA_SQL);
+            statement.setObject(1, replacementMediaId, Types.BIGINT);
+            statement.setLong(2, mediaId);
+            statement.setLong(3, mediaId);
+
+            return statement;
+        }, TARGET_ROW_MAPPER);
+    }
+
+    public List<DeviceTarget> updatePowerAll(Collection<Long> deviceIds, Long userId, boolean status) {
+        return updateAll(BULK_UPDATE_POWER_SQL, status, deviceIds, userId);
+    }
+
+    public List<DeviceTarget> updateOpenAll(Collection<Long> deviceIds, Long userId, boolean status) {
+        return updateAll(BULK_UPDATE_OPEN_SQL, status, deviceIds, userId);
+    }
+
+    public List<DeviceTarget> updateOpacityAll(Collection<Long> deviceIds, Long userId, boolean status) {
+        return updateAll(BULK_UPDATE_OPACITY_SQL, status, deviceIds, userId);
+    }
+
+    public List<DeviceTarget> updateModeAll(Collection<Long> deviceIds, Long userId, DeviceMode mode) {
+        return updateAll(BULK_UPDATE_MODE_SQL, mode.name(), deviceIds, userId);
+    }
+
+    private Optional<String> update(String sql, Object value, Long deviceId, Long userId) {
+        List<String> deviceUniqueIds = jdbcTemplate.queryForList(sql, String.class, value, deviceId, userId, userId);
+
+        return deviceUniqueIds.stream().findFirst();
+    }
+
+    private List<DeviceTarget> updateAll(String sql, Object value, Collection<Long> deviceIds, Long userId) {
+        if (deviceIds.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setObject(1, value);
+            statement.setArray(2, connection.createArrayOf("bigint", deviceIds.toArray()));
+            statement.setLong(3, userId);
+            statement.setLong(4, userId);
+
+            return statement;
+        }, TARGET_ROW_MAPPER);
+    }
+}
@@ -0,0 +1,27 @@
+package com.lumiscape.smartwindow.device.repository;
+
+import com.lumiscape.smartwindow.device.domain.DeviceGroup;
+import com.lumiscape.smartwindow.device.dto.DeviceTarget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface DeviceGroupRepository extends JpaRepository<DeviceGroup, Long> {
+
+    List<DeviceGroup> findAllByUserId(Long userId);
+
+    Optional<DeviceGroup> findByIdAndUserId(Long groupId, Long userId);
+
+    @Query("SELECT g.user.id FROM DeviceGroup g WHERE g.id = :groupId")
+    Optional<Long> findOwnerIdById(@Param("groupId") Long groupId);
+
+    @Query("SELECT new com.lumiscape.smartwindow.device.dto.DeviceTarget(m.device.id, m.device.deviceUniqueId) " +
+            "FROM DeviceGroupMember m WHERE m.group.id = :groupId ORDER BY m.device.id")
+    List<DeviceTarget> findTargetsByGroupId(@Param("groupId") Long groupId);
+
+    @Query("SELECT m.group.id FROM DeviceGroupMember m WHERE m.device.id = :deviceId")
+    List<Long> findGroupIdsByDeviceId(@Param("deviceId") Long deviceId);
+}
@@ -1,10 +1,12 @@
 package com.lumiscape.smartwindow.device.repository;
 
 import com.lumiscape.smartwindow.device.domain.Device;
-import com.lumiscape.smartwindow.media.domain.Media;
+import com.lumiscape.smartwindow.device.dto.DeviceIdentity;
 import com.lumiscape.smartwindow.user.domain.entity.User;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,11 +15,20 @@ public interface DeviceRepository extends JpaRepository<Device, Long> {
 
     List<Device> findAllByUserId(Long userId);
 
+    @Query("SELECT d.id FROM Device d WHERE d.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
     boolean existsByDeviceUniqueId(String deviceUniqueId);
 
     Optional<Device> findByIdAndUserId(Long deviceId, Long userId);
 
     Optional<Device> findByDeviceUniqueId(String deviceUniqueId);
 
-    List<Device> findAllByMedia(Media media);
+    @Query("SELECT new com.lumiscape.smartwindow.device.dto.DeviceIdentity(d.id, d.deviceUniqueId, d.user.id, d.deviceName) " +
+            "FROM Device d WHERE d.deviceUniqueId = :deviceUniqueId")
+    Optional<DeviceIdentity> findIdentityByDeviceUniqueId(@Param("deviceUniqueId") String deviceUniqueId);
+
+    @Query("SELECT new com.lumiscape.smartwindow.device.dto.DeviceIdentity(d.id, d.deviceUniqueId, d.user.id, d.deviceName) " +
+            "FROM Device d WHERE d.id = :deviceId")
+    Optional<DeviceIdentity> findIdentityById(@Param("deviceId") Long deviceId);
 }
@@ -0,0 +1,23 @@
+package com.lumiscape.smartwindow.device.repository;
+
+import com.lumiscape.smartwindow.device.domain.UserDevicePermission;
+import com.lumiscape.smartwindow.device.domain.UserDevicePermissionId;
+import com.lumiscape.smartwindow.device.dto.DeviceAccessEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface UserDevicePermissionRepository extends JpaRepository<UserDevicePermission, UserDevicePermissionId> {
+
+    @Query("SELECT new com.lumiscape.smartwindow.device.dto.DeviceAccessEntry(p.device.id, p.permissionLevel) " +
+            "FROM UserDevicePermission p WHERE p.user.id = :userId")
+    List<DeviceAccessEntry> findAccessByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p FROM UserDevicePermission p WHERE p.device.id = :deviceId")
+    List<UserDevicePermission> findAllByDeviceId(@Param("deviceId") Long deviceId);
+
+    @Query("SELECT p.user.id FROM UserDevicePermission p WHERE p.device.id = :deviceId")
+    List<Long> findUserIdsByDeviceId(@Param("deviceId") Long deviceId);
+}
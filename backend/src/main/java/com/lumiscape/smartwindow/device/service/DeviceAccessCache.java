@@ -0,0 +1,109 @@
+package com.lumiscape.smartwindow.device.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lumiscape.smartwindow.device.domain.PermissionLevel;
+import com.lumiscape.smartwindow.device.dto.DeviceAccessEntry;
+import com.lumiscape.smartwindow.device.repository.DeviceRepository;
+import com.lumiscape.smartwindow.device.repository.UserDevicePermissionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 사용자별로 소유 디바이스와 공유받은 디바이스를 하나의 권한 맵으로 만들어 두고, 목록 조회마다 조인하지 않는다
+// evict 는 요청을 처리한 인스턴스에서만 일어나므로 읽기 경로에만 쓰고, 제어와 변경은 DB 에서 권한을 확인한다
+@Component
+public class DeviceAccessCache {
+
+    private final DeviceRepository deviceRepository;
+    private final UserDevicePermissionRepository userDevicePermissionRepository;
+
+    private final Cache<Long, Map<Long, PermissionLevel>> accessByUser;
+    // 디바이스 상태 이벤트를 공유받은 사용자에게도 보내기 위해 디바이스별 공유 대상을 함께 둔다
+    private final Cache<Long, List<Long>> sharedUsersByDevice;
+
+    public DeviceAccessCache(DeviceRepository deviceRepository,
+                             UserDevicePermissionRepository userDevicePermissionRepository,
+                             @Value("${app.device.access-cache.max-size:100000}") long maxSize,
+                             @Value("${app.device.access-cache.expire-after-write:30s}") Duration expireAfterWrite,
+                             MeterRegistry meterRegistry) {
+        this.deviceRepository = deviceRepository;
+        this.userDevicePermissionRepository = userDevicePermissionRepository;
+
+        this.accessByUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.sharedUsersByDevice = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, accessByUser, "deviceAccess");
+        CaffeineCacheMetrics.monitor(meterRegistry, sharedUsersByDevice, "deviceAccess.sharedUsers");
+    }
+
+    public Set<Long> accessibleDeviceIds(Long userId) {
+        return accessOf(userId).keySet();
+    }
+
+    public List<Long> sharedUserIds(Long deviceId) {
+        return sharedUsersByDevice.get(deviceId, key -> List.copyOf(userDevicePermissionRepository.findUserIdsByDeviceId(key)));
+    }
+
+    public void evict(Long userId) {
+        invalidateTwice(() -> accessByUser.invalidate(userId));
+    }
+
+    public void evictAll(Collection<Long> userIds) {
+        userIds.forEach(this::evict);
+    }
+
+    public void evictDevice(Long deviceId) {
+        invalidateTwice(() -> sharedUsersByDevice.invalidate(deviceId));
+    }
+
+    private void invalidateTwice(Runnable invalidation) {
+        invalidation.run();
+
+        // 커밋 전에 다른 스레드가 이전 권한을 다시 적재했을 수 있으므로 커밋 후 한 번 더 비운다
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private Map<Long, PermissionLevel> accessOf(Long userId) {
+        return accessByUser.get(userId, this::load);
+    }
+
+    private Map<Long, PermissionLevel> load(Long userId) {
+        Map<Long, PermissionLevel> access = new HashMap<>();
+
+        for (DeviceAccessEntry entry : userDevicePermissionRepository.findAccessByUserId(userId)) {
+            access.put(entry.deviceId(), entry.permissionLevel() != null ? entry.permissionLevel() : PermissionLevel.MEMBER);
+        }
+
+        for (Long deviceId : deviceRepository.findIdsByUserId(userId)) {
+            access.put(deviceId, PermissionLevel.OWNER);
+        }
+
+        return Map.copyOf(access);
+    }
+}
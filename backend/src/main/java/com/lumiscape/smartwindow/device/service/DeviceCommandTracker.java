@@ -0,0 +1,152 @@
+package com.lumiscape.smartwindow.device.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class DeviceCommandTracker {
+
+    public static final String CORRELATION_ID = "correlationId";
+    private static final String COMMAND_TIMEOUT_EVENT = "command_timeout";
+
+    // 디바이스별로 명령 종류마다 마지막 명령 하나만 추적한다
+    private final Map<CommandKey, PendingCommand> pending = new ConcurrentHashMap<>();
+    private final Map<String, Timer> ackTimers = new ConcurrentHashMap<>();
+
+    private final DeviceEventHub deviceEventHub;
+    private final MeterRegistry meterRegistry;
+    private final Duration ackTimeout;
+    private final boolean enabled;
+
+    public DeviceCommandTracker(DeviceEventHub deviceEventHub,
+                                @Value("${app.device.command.ack-timeout:10s}") Duration ackTimeout,
+                                @Value("${mqtt.shared-subscription.enabled:false}") boolean sharedSubscriptionEnabled,
+                                MeterRegistry meterRegistry) {
+        this.deviceEventHub = deviceEventHub;
+        this.meterRegistry = meterRegistry;
+        this.ackTimeout = ackTimeout;
+        // 공유 구독이면 응답이 명령을 보낸 인스턴스가 아닌 곳으로 갈 수 있어 짝을 맞출 수 없으므로 추적하지 않는다
+        this.enabled = !sharedSubscriptionEnabled;
+
+        if (!enabled) {
+            log.info("[ COMMAND ] Ack tracking disabled while MQTT shared subscription is enabled");
+        }
+
+        meterRegistry.gaugeMapSize("device.command.pending", List.of(), pending);
+    }
+
+    public String newCorrelationId() {
+        return UUID.randomUUID().toString();
+    }
+
+    // 명령은 outbox 에 기록되어 커밋된 뒤 등록하므로 롤백된 명령은 타임아웃으로 집계되지 않는다
+    // 커밋 후 relay 가 제시간에 발행하지 못한 명령은 디바이스에 닿지 않은 것이므로 타임아웃으로 알린다
+    public void track(Long userId, Long deviceId, String deviceUniqueId, String command, Object expectedStatus,
+                      String correlationId) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    register(userId, deviceId, deviceUniqueId, command, expectedStatus, correlationId);
+                }
+            });
+            return;
+        }
+
+        register(userId, deviceId, deviceUniqueId, command, expectedStatus, correlationId);
+    }
+
+    public void acknowledge(String deviceUniqueId, String statusType, JsonNode payload) {
+        CommandKey key = new CommandKey(deviceUniqueId, statusType);
+        PendingCommand command = pending.get(key);
+
+        if (command == null) {
+            return;
+        }
+
+        // 펌웨어가 correlationId 를 돌려주면 그것으로, 아니면 보고된 상태가 기대값과 같은지로 짝을 맞춘다
+        JsonNode correlationNode = payload.get(CORRELATION_ID);
+        JsonNode statusNode = payload.get("status");
+
+        boolean matched = correlationNode != null
+                ? command.correlationId().equals(correlationNode.asText())
+                : statusNode != null && command.expectedStatus().equals(statusNode.asText());
+
+        if (!matched) {
+            counter("device.command.mismatch", statusType).increment();
+            log.debug("[ COMMAND ] Status does not match pending command, device : {}, type : {}", deviceUniqueId, statusType);
+            return;
+        }
+
+        if (pending.remove(key, command)) {
+            ackTimer(statusType).record(System.nanoTime() - command.sentAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.device.command.sweep-interval-ms:1000}")
+    public void expireTimedOutCommands() {
+        long expiredBefore = System.nanoTime() - ackTimeout.toNanos();
+
+        pending.forEach((key, command) -> {
+            if (command.sentAt() - expiredBefore >= 0 || !pending.remove(key, command)) {
+                return;
+            }
+
+            counter("device.command.timeout", key.command()).increment();
+            log.warn("[ COMMAND ] Ack timeout, device : {}, command : {}, correlationId : {}",
+                    key.deviceUniqueId(), key.command(), command.correlationId());
+
+            // 앱이 낙관적으로 반영한 상태를 다시 조회하도록 알린다
+            deviceEventHub.publish(List.of(command.userId()), command.deviceId(), COMMAND_TIMEOUT_EVENT,
+                    Map.of("command", key.command(), CORRELATION_ID, command.correlationId()));
+        });
+    }
+
+    private void register(Long userId, Long deviceId, String deviceUniqueId, String command, Object expectedStatus,
+                          String correlationId) {
+        PendingCommand previous = pending.put(new CommandKey(deviceUniqueId, command),
+                new PendingCommand(correlationId, userId, deviceId, String.valueOf(expectedStatus), System.nanoTime()));
+
+        if (previous != null) {
+            counter("device.command.superseded", command).increment();
+        }
+    }
+
+    private Timer ackTimer(String command) {
+        return ackTimers.computeIfAbsent(command, key -> Timer.builder("device.command.ack.latency")
+                .tag("command", key)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter counter(String name, String command) {
+        return meterRegistry.counter(name, "command", command);
+    }
+
+    private record CommandKey(String deviceUniqueId, String command) {
+    }
+
+    private record PendingCommand(String correlationId, Long userId, Long deviceId, String expectedStatus, long sentAt) {
+    }
+}
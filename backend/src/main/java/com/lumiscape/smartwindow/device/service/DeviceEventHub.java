@@ -0,0 +1,209 @@
+package com.lumiscape.smartwindow.device.service;
+
+import com.lumiscape.smartwindow.device.dto.DeviceStateEvent;
+import com.lumiscape.smartwindow.global.exception.CustomException;
+import com.lumiscape.smartwindow.global.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class DeviceEventHub {
+
+    private final Map<Long, UserChannel> channels = new ConcurrentHashMap<>();
+
+    // 재시작 후에도 Last-Event-ID 가 뒤로 가지 않도록 시각을 기준으로 시작한다
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final Duration heartbeatInterval;
+    private final int replaySize;
+    private final int bufferSize;
+    private final Duration retention;
+    private final boolean enabled;
+
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+
+    public DeviceEventHub(@Value("${app.device.stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+                          @Value("${app.device.stream.replay-size:50}") int replaySize,
+                          @Value("${app.device.stream.buffer-size:256}") int bufferSize,
+                          @Value("${app.device.stream.retention:5m}") Duration retention,
+                          @Value("${mqtt.shared-subscription.enabled:false}") boolean sharedSubscriptionEnabled,
+                          MeterRegistry meterRegistry) {
+        this.heartbeatInterval = heartbeatInterval;
+        this.replaySize = replaySize;
+        this.bufferSize = Math.max(bufferSize, replaySize);
+        this.retention = retention;
+        // 공유 구독이면 상태 메시지가 구독자가 연결된 인스턴스로 온다는 보장이 없어 일부 이벤트만 보이게 되므로 스트림을 열지 않는다
+        this.enabled = !sharedSubscriptionEnabled;
+
+        this.publishedCounter = meterRegistry.counter("device.stream.published");
+        this.droppedCounter = meterRegistry.counter("device.stream.dropped");
+
+        meterRegistry.gauge("device.stream.subscribers", subscriberCount);
+        meterRegistry.gaugeMapSize("device.stream.channels", List.of(), channels);
+    }
+
+    // 소유자와 공유받은 사용자에게 같은 이벤트를 보낸다
+    public void publish(Collection<Long> userIds, Long deviceId, String type, Object status) {
+        DeviceStateEvent event = null;
+
+        for (Long userId : userIds) {
+            UserChannel channel = channels.get(userId);
+
+            // 한 번도 구독하지 않은 사용자의 이벤트는 보관하지 않는다
+            if (channel == null) {
+                continue;
+            }
+
+            if (event == null) {
+                event = new DeviceStateEvent(sequence.incrementAndGet(), deviceId, type, status, OffsetDateTime.now());
+            }
+
+            channel.publish(event);
+            publishedCounter.increment();
+        }
+    }
+
+    public Flux<ServerSentEvent<DeviceStateEvent>> stream(Long userId, String lastEventId) {
+        if (!enabled) {
+            throw new CustomException(ErrorCode.DEVICE_STREAM_UNAVAILABLE);
+        }
+
+        long afterId = parseEventId(lastEventId);
+
+        return Flux.defer(() -> {
+            List<Sinks.Many<DeviceStateEvent>> subscribed = new ArrayList<>(1);
+            UserChannel channel = channels.compute(userId, (key, current) -> {
+                UserChannel target = current != null ? current : new UserChannel();
+                subscribed.add(target.subscribe(afterId));
+
+                return target;
+            });
+            Sinks.Many<DeviceStateEvent> sink = subscribed.get(0);
+            Sinks.Empty<Void> closed = Sinks.empty();
+
+            Flux<ServerSentEvent<DeviceStateEvent>> events = sink.asFlux()
+                    .map(this::toServerSentEvent)
+                    .doFinally(signal -> {
+                        channel.unsubscribe(sink);
+                        closed.tryEmitEmpty();
+                    });
+
+            Flux<ServerSentEvent<DeviceStateEvent>> heartbeat = Flux.interval(heartbeatInterval)
+                    .map(tick -> ServerSentEvent.<DeviceStateEvent>builder().comment("heartbeat").build())
+                    .takeUntilOther(closed.asMono());
+
+            return Flux.merge(events, heartbeat);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.device.stream.sweep-interval-ms:60000}")
+    public void removeIdleChannels() {
+        long idleBefore = System.nanoTime() - retention.toNanos();
+
+        channels.keySet().forEach(userId -> channels.computeIfPresent(userId,
+                (key, channel) -> channel.isIdleSince(idleBefore) ? null : channel));
+    }
+
+    private ServerSentEvent<DeviceStateEvent> toServerSentEvent(DeviceStateEvent event) {
+        return ServerSentEvent.<DeviceStateEvent>builder()
+                .id(String.valueOf(event.eventId()))
+                .event(event.type())
+                .data(event)
+                .build();
+    }
+
+    private long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private final class UserChannel {
+
+        private final Deque<DeviceStateEvent> recent = new ArrayDeque<>();
+        private final Set<Sinks.Many<DeviceStateEvent>> subscribers = new HashSet<>();
+        private long lastActiveAt = System.nanoTime();
+
+        private synchronized void publish(DeviceStateEvent event) {
+            recent.addLast(event);
+
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+
+            subscribers.removeIf(sink -> {
+                if (sink.tryEmitNext(event).isSuccess()) {
+                    return false;
+                }
+
+                // 버퍼가 찬 느린 구독자는 끊는다. 클라이언트는 Last-Event-ID 로 다시 이어받는다
+                sink.tryEmitComplete();
+                subscriberCount.decrementAndGet();
+                droppedCounter.increment();
+                log.debug("[ SSE ] Slow consumer dropped");
+
+                return true;
+            });
+
+            lastActiveAt = System.nanoTime();
+        }
+
+        private synchronized Sinks.Many<DeviceStateEvent> subscribe(long afterId) {
+            Sinks.Many<DeviceStateEvent> sink = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<DeviceStateEvent>get(bufferSize).get());
+
+            recent.stream()
+                    .filter(event -> event.eventId() > afterId)
+                    .forEach(sink::tryEmitNext);
+
+            subscribers.add(sink);
+            subscriberCount.incrementAndGet();
+            lastActiveAt = System.nanoTime();
+
+            return sink;
+        }
+
+        private synchronized void unsubscribe(Sinks.Many<DeviceStateEvent> sink) {
+            if (subscribers.remove(sink)) {
+                subscriberCount.decrementAndGet();
+            }
+
+            lastActiveAt = System.nanoTime();
+        }
+
+        private synchronized boolean isIdleSince(long idleBefore) {
+            return subscribers.isEmpty() && lastActiveAt - idleBefore < 0;
+        }
+    }
+}
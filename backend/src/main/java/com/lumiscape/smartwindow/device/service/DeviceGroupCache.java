@@ -0,0 +1,82 @@
+package com.lumiscape.smartwindow.device.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lumiscape.smartwindow.device.dto.DeviceGroupMembership;
+import com.lumiscape.smartwindow.device.repository.DeviceGroupRepository;
+import com.lumiscape.smartwindow.global.exception.CustomException;
+import com.lumiscape.smartwindow.global.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// 그룹 명령마다 멤버 조인을 다시 하지 않도록 그룹 멤버와 topic 목록을 메모리에 둔다
+// evict 는 요청을 처리한 인스턴스에서만 일어나므로, 다른 인스턴스의 이전 멤버는 짧은 TTL 이 지나면 사라진다
+@Component
+public class DeviceGroupCache {
+
+    private final DeviceGroupRepository deviceGroupRepository;
+
+    private final Cache<Long, DeviceGroupMembership> memberships;
+
+    public DeviceGroupCache(DeviceGroupRepository deviceGroupRepository,
+                            @Value("${app.device.group-cache.max-size:10000}") long maxSize,
+                            @Value("${app.device.group-cache.expire-after-write:10s}") Duration expireAfterWrite,
+                            MeterRegistry meterRegistry) {
+        this.deviceGroupRepository = deviceGroupRepository;
+
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memberships, "deviceGroup.membership");
+    }
+
+    public DeviceGroupMembership get(Long groupId, Long userId) {
+        DeviceGroupMembership membership = memberships.get(groupId, key -> deviceGroupRepository.findOwnerIdById(key)
+                .map(ownerId -> DeviceGroupMembership.of(key, ownerId, deviceGroupRepository.findTargetsByGroupId(key)))
+                .orElse(null));
+
+        if (membership == null || !membership.userId().equals(userId)) {
+            throw new CustomException(ErrorCode.DEVICE_GROUP_NOT_FOUND);
+        }
+
+        return membership;
+    }
+
+    public void evict(Long groupId) {
+        memberships.invalidate(groupId);
+
+        // 커밋 전에 다른 스레드가 이전 멤버를 다시 적재했을 수 있으므로 커밋 후 한 번 더 비운다
+        afterCommit(() -> memberships.invalidate(groupId));
+    }
+
+    public void evictByDevice(Long deviceId) {
+        evictContaining(deviceId);
+
+        afterCommit(() -> evictContaining(deviceId));
+    }
+
+    private void evictContaining(Long deviceId) {
+        memberships.asMap().values().removeIf(membership -> membership.targets().stream()
+                .anyMatch(target -> target.deviceId().equals(deviceId)));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
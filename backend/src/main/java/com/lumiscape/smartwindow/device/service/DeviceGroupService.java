@@ -0,0 +1,94 @@
+package com.lumiscape.smartwindow.device.service;
+
+import com.lumiscape.smartwindow.device.domain.Device;
+import com.lumiscape.smartwindow.device.domain.DeviceGroup;
+import com.lumiscape.smartwindow.device.dto.DeviceGroupMemberRequest;
+import com.lumiscape.smartwindow.device.dto.DeviceGroupRequest;
+import com.lumiscape.smartwindow.device.dto.DeviceGroupResponse;
+import com.lumiscape.smartwindow.device.repository.DeviceGroupRepository;
+import com.lumiscape.smartwindow.global.exception.CustomException;
+import com.lumiscape.smartwindow.global.exception.ErrorCode;
+import com.lumiscape.smartwindow.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DeviceGroupService {
+
+    private final DeviceGroupRepository deviceGroupRepository;
+    private final DeviceGroupCache deviceGroupCache;
+    private final DeviceService deviceService;
+    private final UserService userService;
+
+    public List<DeviceGroupResponse> getMyGroups(Long userId) {
+
+        return deviceGroupRepository.findAllByUserId(userId).stream()
+                .map(DeviceGroupResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public DeviceGroupResponse createGroup(Long userId, DeviceGroupRequest request) {
+        DeviceGroup group = DeviceGroup.builder()
+                .user(userService.getUserReference(userId))
+                .groupName(request.groupName())
+                .build();
+
+        return DeviceGroupResponse.from(deviceGroupRepository.save(group));
+    }
+
+    public DeviceGroupResponse getGroup(Long userId, Long groupId) {
+        return DeviceGroupResponse.from(findGroupByUser(groupId, userId));
+    }
+
+    @Transactional
+    public DeviceGroupResponse updateGroupName(Long userId, Long groupId, DeviceGroupRequest request) {
+        DeviceGroup group = findGroupByUser(groupId, userId);
+        group.updateName(request.groupName());
+
+        return DeviceGroupResponse.from(group);
+    }
+
+    @Transactional
+    public void deleteGroup(Long userId, Long groupId) {
+        DeviceGroup group = findGroupByUser(groupId, userId);
+
+        deviceGroupRepository.delete(group);
+
+        deviceGroupCache.evict(groupId);
+    }
+
+    @Transactional
+    public DeviceGroupResponse addDevice(Long userId, Long groupId, DeviceGroupMemberRequest request) {
+        DeviceGroup group = findGroupByUser(groupId, userId);
+        Device device = deviceService.findDeviceByUser(request.deviceId(), userId);
+
+        if (group.addMember(device)) {
+            deviceGroupCache.evict(groupId);
+        }
+
+        return DeviceGroupResponse.from(group);
+    }
+
+    @Transactional
+    public DeviceGroupResponse removeDevice(Long userId, Long groupId, Long deviceId) {
+        DeviceGroup group = findGroupByUser(groupId, userId);
+
+        if (group.removeMember(deviceId)) {
+            deviceGroupCache.evict(groupId);
+        }
+
+        return DeviceGroupResponse.from(group);
+    }
+
+    private DeviceGroup findGroupByUser(Long groupId, Long userId) {
+        return deviceGroupRepository.findByIdAndUserId(groupId, userId)
+                .orElseThrow(() -> new CustomException(ErrorCode.DEVICE_GROUP_NOT_FOUND));
+    }
+}
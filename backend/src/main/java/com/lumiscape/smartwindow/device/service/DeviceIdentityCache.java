@@ -0,0 +1,98 @@
+package com.lumiscape.smartwindow.device.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lumiscape.smartwindow.device.dto.DeviceIdentity;
+import com.lumiscape.smartwindow.device.repository.DeviceRepository;
+import com.lumiscape.smartwindow.global.exception.CustomException;
+import com.lumiscape.smartwindow.global.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// evict 는 요청을 처리한 인스턴스에서만 일어나므로, 다른 인스턴스의 삭제·이름 변경·재등록은 짧은 TTL 이 지나면 반영된다
+// 소유자 확인이 필요한 쓰기 경로는 캐시 대신 DB 에서 다시 읽는다
+@Component
+public class DeviceIdentityCache {
+
+    private final DeviceRepository deviceRepository;
+
+    private final Cache<String, DeviceIdentity> byUniqueId;
+    private final Cache<Long, DeviceIdentity> byId;
+
+    public DeviceIdentityCache(DeviceRepository deviceRepository,
+                               @Value("${app.device.identity-cache.max-size:100000}") long maxSize,
+                               @Value("${app.device.identity-cache.expire-after-write:30s}") Duration expireAfterWrite,
+                               MeterRegistry meterRegistry) {
+        this.deviceRepository = deviceRepository;
+
+        this.byUniqueId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byUniqueId, "deviceIdentity.byUniqueId");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "deviceIdentity.byId");
+    }
+
+    public DeviceIdentity getByUniqueId(String deviceUniqueId) {
+        DeviceIdentity identity = byUniqueId.get(deviceUniqueId, key -> deviceRepository.findIdentityByDeviceUniqueId(key)
+                .orElse(null));
+
+        if (identity == null) {
+            throw new CustomException(ErrorCode.DEVICE_NOT_FOUND);
+        }
+
+        byId.put(identity.deviceId(), identity);
+
+        return identity;
+    }
+
+    public DeviceIdentity getById(Long deviceId) {
+        DeviceIdentity identity = byId.get(deviceId, key -> deviceRepository.findIdentityById(key)
+                .orElse(null));
+
+        if (identity == null) {
+            throw new CustomException(ErrorCode.DEVICE_NOT_FOUND);
+        }
+
+        byUniqueId.put(identity.deviceUniqueId(), identity);
+
+        return identity;
+    }
+
+    public void evict(Long deviceId, String deviceUniqueId) {
+        evictNow(deviceId, deviceUniqueId);
+
+        // 커밋 전에 다른 스레드가 이전 값을 다시 적재했을 수 있으므로 커밋 후 한 번 더 비운다
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(deviceId, deviceUniqueId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Long deviceId, String deviceUniqueId) {
+        if (deviceId != null) {
+            byId.invalidate(deviceId);
+        }
+
+        if (deviceUniqueId != null) {
+            byUniqueId.invalidate(deviceUniqueId);
+        }
+    }
+}
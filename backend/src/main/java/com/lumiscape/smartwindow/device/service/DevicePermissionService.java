@@ -0,0 +1,102 @@
+package com.lumiscape.smartwindow.device.service;
+
+import com.lumiscape.smartwindow.device.domain.Device;
+import com.lumiscape.smartwindow.device.domain.PermissionLevel;
+import com.lumiscape.smartwindow.device.domain.UserDevicePermission;
+import com.lumiscape.smartwindow.device.domain.UserDevicePermissionId;
+import com.lumiscape.smartwindow.device.dto.DevicePermissionRequest;
+import com.lumiscape.smartwindow.device.dto.DevicePermissionResponse;
+import com.lumiscape.smartwindow.device.repository.UserDevicePermissionRepository;
+import com.lumiscape.smartwindow.global.exception.CustomException;
+import com.lumiscape.smartwindow.global.exception.ErrorCode;
+import com.lumiscape.smartwindow.user.domain.entity.User;
+import com.lumiscape.smartwindow.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DevicePermissionService {
+
+    private final UserDevicePermissionRepository userDevicePermissionRepository;
+    private final DeviceAccessCache deviceAccessCache;
+    private final DeviceService deviceService;
+    private final UserService userService;
+
+    public List<DevicePermissionResponse> getPermissions(Long userId, Long deviceId) {
+        deviceService.findDeviceByOwner(deviceId, userId);
+
+        return userDevicePermissionRepository.findAllByDeviceId(deviceId).stream()
+                .map(DevicePermissionResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public DevicePermissionResponse grantPermission(Long userId, Long deviceId, DevicePermissionRequest request) {
+        Device device = deviceService.findDeviceByOwner(deviceId, userId);
+        User target = userService.getUser(request.userId());
+        PermissionLevel level = parseLevel(request.permissionLevel());
+
+        if (device.getUser().getId().equals(target.getId())) {
+            throw new CustomException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+
+        UserDevicePermissionId id = new UserDevicePermissionId(target.getId(), deviceId);
+        UserDevicePermission permission = userDevicePermissionRepository.findById(id)
+                .orElseGet(() -> userDevicePermissionRepository.save(UserDevicePermission.builder()
+                        .user(target)
+                        .device(device)
+                        .permissionLevel(level)
+                        .build()));
+
+        permission.updateLevel(level);
+
+        deviceAccessCache.evict(target.getId());
+        deviceAccessCache.evictDevice(deviceId);
+
+        return DevicePermissionResponse.from(permission);
+    }
+
+    @Transactional
+    public void revokePermission(Long userId, Long deviceId, Long targetUserId) {
+        // 공유받은 사용자는 스스로 공유를 해제할 수 있다
+        if (!userId.equals(targetUserId)) {
+            deviceService.findDeviceByOwner(deviceId, userId);
+        }
+
+        UserDevicePermissionId id = new UserDevicePermissionId(targetUserId, deviceId);
+
+        if (userDevicePermissionRepository.existsById(id)) {
+            userDevicePermissionRepository.deleteById(id);
+
+            deviceAccessCache.evict(targetUserId);
+            deviceAccessCache.evictDevice(deviceId);
+        }
+    }
+
+    private PermissionLevel parseLevel(String level) {
+        if (level == null) {
+            return PermissionLevel.MEMBER;
+        }
+
+        PermissionLevel parsed;
+
+        try {
+            parsed = PermissionLevel.valueOf(level.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+
+        // 소유자는 devices.user_id 로만 정해지므로 공유로는 MEMBER 만 줄 수 있다
+        if (parsed != PermissionLevel.MEMBER) {
+            throw new CustomException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+
+        return parsed;
+    }
+}
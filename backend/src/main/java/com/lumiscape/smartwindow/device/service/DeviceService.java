@@ -5,15 +5,18 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lumiscape.smartwindow.device.domain.Device;
 import com.lumiscape.smartwindow.device.domain.DeviceMode;
+import com.lumiscape.smartwindow.device.domain.UserDevicePermissionId;
 import com.lumiscape.smartwindow.device.dto.*;
+import com.lumiscape.smartwindow.device.repository.DeviceCommandRepository;
 import com.lumiscape.smartwindow.device.repository.DeviceRepository;
-import com.lumiscape.smartwindow.fcm.service.FcmNotificationService;
+import com.lumiscape.smartwindow.device.repository.UserDevicePermissionRepository;
+import com.lumiscape.smartwindow.fcm.service.FcmNotificationAggregator;
 import com.lumiscape.smartwindow.global.exception.CustomException;
 import com.lumiscape.smartwindow.global.exception.ErrorCode;
 import com.lumiscape.smartwindow.global.infra.MqttPublishService;
 import com.lumiscape.smartwindow.global.infra.S3Service;
+import com.lumiscape.smartwindow.global.outbox.OutboxService;
 import com.lumiscape.smartwindow.media.domain.Media;
-import com.lumiscape.smartwindow.media.domain.MediaOrigin;
 import com.lumiscape.smartwindow.media.service.MediaService;
 import com.lumiscape.smartwindow.music.domain.Music;
 import com.lumiscape.smartwindow.music.service.MusicService;
@@ -24,14 +27,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
-import com.lumiscape.smartwindow.fcm.service.FcmNotificationService;
 
 @Slf4j
 @Service
@@ -39,12 +49,23 @@ import com.lumiscape.smartwindow.fcm.service.FcmNotificationService;
 @Transactional(readOnly = true)
 public class DeviceService {
 
+    private static final int BULK_COMMAND_LIMIT = 500;
+
     private final DeviceRepository deviceRepository;
+    private final DeviceCommandRepository deviceCommandRepository;
     private final UserService userService;
     private final S3Service s3Service;
     private final MqttPublishService mqttPublishService;
+    private final OutboxService outboxService;
+    private final DeviceStateBuffer deviceStateBuffer;
+    private final DeviceIdentityCache deviceIdentityCache;
+    private final DeviceEventHub deviceEventHub;
+    private final DeviceCommandTracker deviceCommandTracker;
+    private final DeviceGroupCache deviceGroupCache;
+    private final DeviceAccessCache deviceAccessCache;
+    private final UserDevicePermissionRepository userDevicePermissionRepository;
 
-    private final FcmNotificationService fcmNotificationService;
+    private final FcmNotificationAggregator fcmNotificationAggregator;
 
     private MediaService mediaService;
     private MusicService musicService;
@@ -63,8 +84,9 @@ public class DeviceService {
 
     public List<DeviceDetailResponse> getMyDevice(Long userId) {
 
-        return deviceRepository.findAllByUserId(userId).stream()
-                .map(DeviceDetailResponse::from)
+        return deviceRepository.findAllById(deviceAccessCache.accessibleDeviceIds(userId)).stream()
+                .sorted(Comparator.comparing(Device::getId))
+                .map(device -> DeviceDetailResponse.from(device, deviceStateBuffer.peek(device)))
                 .collect(Collectors.toList());
     }
 
@@ -84,89 +106,199 @@ public class DeviceService {
 
         Device savedDevice = deviceRepository.save(newDevice);
 
+        deviceIdentityCache.evict(savedDevice.getId(), savedDevice.getDeviceUniqueId());
+        deviceAccessCache.evict(userId);
+
         return DeviceDetailResponse.from(savedDevice);
     }
 
     public DeviceDetailResponse getDeviceDetail(Long userId, Long deviceId) {
         Device device = findDeviceByUser(deviceId, userId);
 
-        return DeviceDetailResponse.from(device);
+        return DeviceDetailResponse.from(device, deviceStateBuffer.peek(device));
     }
 
     @Transactional
     public DeviceDetailResponse updateDeviceName(Long userId, Long deviceId, DeviceUpdateNameRequest request) {
-        Device device = findDeviceByUser(deviceId, userId);
+        Device device = findDeviceByOwner(deviceId, userId);
         device.updateName(request.deviceName());
 
+        deviceIdentityCache.evict(device.getId(), device.getDeviceUniqueId());
+
         return DeviceDetailResponse.from(device);
     }
 
     @Transactional
     public void deleteDevice(Long userId, Long deviceId) {
-        Device device = findDeviceByUser(deviceId, userId);
+        Device device = findDeviceByOwner(deviceId, userId);
+        List<Long> sharedUserIds = userDevicePermissionRepository.findUserIdsByDeviceId(deviceId);
 
         deviceRepository.delete(device);
+
+        deviceIdentityCache.evict(device.getId(), device.getDeviceUniqueId());
+        deviceGroupCache.evictByDevice(device.getId());
+        deviceAccessCache.evict(device.getUser().getId());
+        deviceAccessCache.evictAll(sharedUserIds);
+        deviceAccessCache.evictDevice(device.getId());
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<ServerSentEvent<DeviceStateEvent>> streamDeviceEvents(Long userId, String lastEventId) {
+        return deviceEventHub.stream(userId, lastEventId);
     }
 
     public DeviceStatusResponse getPowerStatus(Long userId, Long deviceId) {
         Device device = findDeviceByUser(deviceId, userId);
 
-        return DeviceStatusResponse.ofPower(device);
+        return DeviceStatusResponse.ofPower(device, deviceStateBuffer.peek(device));
     }
 
     @Transactional
     public DeviceStatusResponse controlPower(Long userId, Long deviceId, DeviceStatusRequest request) {
-        Device device = findDeviceByUser(deviceId, userId);
         boolean newStatus = request.status();
+        String deviceUniqueId = deviceCommandRepository.updatePower(deviceId, userId, newStatus)
+                .orElseThrow(() -> new CustomException(ErrorCode.FORBIDDEN_DEVICE_ACCESS));
 
-        mqttPublishService.publishCommand(device.getDeviceUniqueId(), "power", Map.of("status", newStatus));
+        String correlationId = deviceCommandTracker.newCorrelationId();
+        outboxService.publishCommand(deviceUniqueId, "power",
+                Map.of("status", newStatus, DeviceCommandTracker.CORRELATION_ID, correlationId));
+        deviceCommandTracker.track(userId, deviceId, deviceUniqueId, "power", newStatus, correlationId);
 
-        device.updatePower(newStatus);
+        // 버퍼에 남은 이전 보고값이 방금 쓴 값을 덮어쓰지 않도록 함께 기록한다
+        deviceStateBuffer.bufferPower(deviceUniqueId, newStatus);
 
-        return DeviceStatusResponse.ofPower(device);
+        return new DeviceStatusResponse(deviceId, newStatus);
     }
 
     public DeviceStatusResponse getOpenStatus(Long userId, Long deviceId) {
         Device device = findDeviceByUser(deviceId, userId);
 
-        return DeviceStatusResponse.ofOpen(device);
+        return DeviceStatusResponse.ofOpen(device, deviceStateBuffer.peek(device));
     }
 
     @Transactional
     public DeviceStatusResponse controlOpen(Long userId, Long deviceId, DeviceStatusRequest request) {
-        Device device = findDeviceByUser(deviceId, userId);
         boolean newStatus = request.status();
+        String deviceUniqueId = deviceCommandRepository.updateOpen(deviceId, userId, newStatus)
+                .orElseThrow(() -> new CustomException(ErrorCode.FORBIDDEN_DEVICE_ACCESS));
 
-        mqttPublishService.publishCommand(device.getDeviceUniqueId(), "open", Map.of("status", newStatus));
+        String correlationId = deviceCommandTracker.newCorrelationId();
+        outboxService.publishCommand(deviceUniqueId, "open",
+                Map.of("status", newStatus, DeviceCommandTracker.CORRELATION_ID, correlationId));
+        deviceCommandTracker.track(userId, deviceId, deviceUniqueId, "open", newStatus, correlationId);
 
-        device.updateOpen(newStatus);
+        // 버퍼에 남은 이전 보고값이 방금 쓴 값을 덮어쓰지 않도록 함께 기록한다
+        deviceStateBuffer.bufferOpen(deviceUniqueId, newStatus);
 
-        return DeviceStatusResponse.ofOpen(device);
+        return new DeviceStatusResponse(deviceId, newStatus);
     }
 
     @Transactional
     public DeviceStatusResponse controlOpacity(Long userId, Long deviceId, DeviceStatusRequest request) {
-        Device device = findDeviceByUser(deviceId, userId);
         boolean newStatus = request.status();
+        String deviceUniqueId = deviceCommandRepository.updateOpacity(deviceId, userId, newStatus)
+                .orElseThrow(() -> new CustomException(ErrorCode.FORBIDDEN_DEVICE_ACCESS));
 
-        mqttPublishService.publishCommand(device.getDeviceUniqueId(), "opacity", Map.of("status", newStatus));
+        outboxService.publishCommand(deviceUniqueId, "opacity", Map.of("status", newStatus));
 
-        device.updateOpacity(newStatus);
+        // 버퍼에 남은 이전 보고값이 방금 쓴 값을 덮어쓰지 않도록 함께 기록한다
+        deviceStateBuffer.bufferOpacity(deviceUniqueId, newStatus);
 
-        return DeviceStatusResponse.ofOpacity(device);
+        return new DeviceStatusResponse(deviceId, newStatus);
     }
 
     @Transactional
     public DeviceModeStatusResponse controlModeStatus(Long userId, Long deviceId, DeviceModeStatusRequest request) {
-        Device device = findDeviceByUser(deviceId, userId);
-
         DeviceMode newMode = DeviceMode.valueOf(request.mode().toUpperCase());
+        String deviceUniqueId = deviceCommandRepository.updateMode(deviceId, userId, newMode)
+                .orElseThrow(() -> new CustomException(ErrorCode.FORBIDDEN_DEVICE_ACCESS));
+
+        String correlationId = deviceCommandTracker.newCorrelationId();
+        outboxService.publishCommand(deviceUniqueId, "mode",
+                Map.of("status", newMode.name(), DeviceCommandTracker.CORRELATION_ID, correlationId));
+        deviceCommandTracker.track(userId, deviceId, deviceUniqueId, "mode", newMode.name(), correlationId);
+
+        deviceStateBuffer.bufferMode(deviceUniqueId, newMode);
+
+        return new DeviceModeStatusResponse(deviceId, newMode);
+    }
+
+    // 대상 전체를 UPDATE 한 번으로 바꾸고, 명령은 outbox 에 batch 로 기록해 커밋 후 relay 가 연결별 lane 으로 나눠 발행한다
+    @Transactional
+    public DeviceBulkCommandResponse controlDevices(Long userId, DeviceBulkCommandRequest request) {
+        DeviceGroupMembership group = request.groupId() == null ? null : deviceGroupCache.get(request.groupId(), userId);
+        // 접근 권한은 UPDATE 조건으로 확인하고, 갱신되지 않은 대상은 권한 없음으로 응답한다
+        Set<Long> deviceIds = resolveBulkTargets(request, group);
+        String command = request.command() == null ? "" : request.command().toLowerCase();
+
+        List<DeviceTarget> targets;
+        Object newValue;
+
+        switch (command) {
+            case "power", "open", "opacity" -> {
+                if (request.status() == null) {
+                    throw new CustomException(ErrorCode.INVALID_INPUT_VALUE);
+                }
+
+                boolean newStatus = request.status();
+                targets = switch (command) {
+                    case "power" -> deviceCommandRepository.updatePowerAll(deviceIds, userId, newStatus);
+                    case "open" -> deviceCommandRepository.updateOpenAll(deviceIds, userId, newStatus);
+                    default -> deviceCommandRepository.updateOpacityAll(deviceIds, userId, newStatus);
+                };
+                newValue = newStatus;
+            }
+            case "mode" -> {
+                DeviceMode newMode = parseMode(request.mode());
+
+                targets = deviceCommandRepository.updateModeAll(deviceIds, userId, newMode);
+                newValue = newMode;
+            }
+            default -> throw new CustomException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+
+        Map<Long, String> updated = targets.stream()
+                .collect(Collectors.toMap(DeviceTarget::deviceId, DeviceTarget::deviceUniqueId));
+
+        // 모든 대상이 같은 payload 를 받으므로 직렬화는 한 번만 하고, 응답 대조는 디바이스별로 추적한다
+        Object expected = newValue instanceof DeviceMode newMode ? newMode.name() : newValue;
+        String correlationId = "opacity".equals(command) ? null : deviceCommandTracker.newCorrelationId();
+        String payload = mqttPublishService.serialize(correlationId == null
+                ? Map.of("status", expected)
+                : Map.of("status", expected, DeviceCommandTracker.CORRELATION_ID, correlationId));
+        Map<Long, String> groupTopics = group == null ? Map.of() : group.topicsFor(command, mqttPublishService::commandTopic);
+
+        List<DeviceCommandResult> results = new ArrayList<>(deviceIds.size());
+        Map<String, String> topics = new LinkedHashMap<>();
+
+        for (Long deviceId : deviceIds) {
+            String deviceUniqueId = updated.get(deviceId);
+
+            if (deviceUniqueId == null) {
+                results.add(DeviceCommandResult.failure(deviceId, ErrorCode.FORBIDDEN_DEVICE_ACCESS));
+                continue;
+            }
+
+            String topic = groupTopics.get(deviceId);
+            topics.put(deviceUniqueId, topic != null ? topic : mqttPublishService.commandTopic(deviceUniqueId, command));
+
+            if (correlationId != null) {
+                deviceCommandTracker.track(userId, deviceId, deviceUniqueId, command, expected, correlationId);
+            }
+
+            bufferCommandState(deviceUniqueId, command, newValue);
+            results.add(DeviceCommandResult.success(deviceId));
+        }
 
-        mqttPublishService.publishCommand(device.getDeviceUniqueId(), "mode", Map.of("status", newMode.name()));
+        outboxService.publishSerialized(topics, payload);
 
-        device.updateMode(newMode);
+        return DeviceBulkCommandResponse.of(results);
+    }
 
-        return DeviceModeStatusResponse.from(device);
+    @Transactional
+    public DeviceBulkCommandResponse controlGroup(Long userId, Long groupId, DeviceBulkCommandRequest request) {
+        return controlDevices(userId, new DeviceBulkCommandRequest(null, groupId,
+                request.command(), request.status(), request.mode()));
     }
 
     @Transactional
@@ -177,7 +309,7 @@ public class DeviceService {
                 "widgetQuotes", request.widgetQuotes(),
                 "widgetMusic", request.widgetMusic());
 
-        mqttPublishService.publishCommand(device.getDeviceUniqueId(), "widgets", newSettings);
+        outboxService.publishCommand(device.getDeviceUniqueId(), "widgets", newSettings);
 
         device.updateModeSettings(newSettings);
 
@@ -200,19 +332,35 @@ public class DeviceService {
         return DeviceDetailResponse.from(device);
     }
 
+    // 업로드 이벤트가 확인해 둔 디바이스와 서명된 URL 로, 다시 읽지 않고 바로 바꾸고 보낸다
     @Transactional
-    public void deleteDevicesMedia(Long userId, Long mediaId) {
-        Media media = mediaService.findMediaByUser(mediaId, userId);
+    public void applyUploadedMedia(Long deviceId, String deviceUniqueId, Long mediaId, String mediaUrl) {
+        // 그 사이 디바이스가 삭제되었으면 보낼 대상이 없다
+        if (deviceCommandRepository.updateMedia(deviceId, mediaId).isEmpty()) {
+            return;
+        }
 
-        List<Device> affectedDevices = findByAllMedia(media);
+        outboxService.publishCommand(deviceUniqueId, "media", mediaPayload(mediaId, mediaUrl));
+    }
 
-        Media replacementMedia = (media.getOriginType() != MediaOrigin.ORIGINAL && media.getParentMedia() != null)
-                ? media.getParentMedia() : null;
+    // 삭제될 미디어를 보여 주던 디바이스를 삭제와 같은 트랜잭션에서 대체 미디어로 바꾼다
+    @Transactional
+    public List<String> replaceMedia(Long mediaId, Long replacementMediaId) {
+        return deviceCommandRepository.replaceMediaWithChildren(mediaId, replacementMediaId).stream()
+                .map(DeviceTarget::deviceUniqueId)
+                .toList();
+    }
 
-        for (Device device : affectedDevices) {
-            device.updateMedia(replacementMedia);
-            publishMediaUpdateToDevice(device);
-        }
+    @Transactional
+    public void publishReplacedMedia(List<String> deviceUniqueIds, Long mediaId, String objectKey) {
+        String mediaUrl = objectKey == null ? null : s3Service.generatePresignedUrlForDownload(objectKey);
+        String payload = mqttPublishService.serialize(mediaPayload(mediaId, mediaUrl));
+        Map<String, String> topics = new LinkedHashMap<>();
+
+        deviceUniqueIds.forEach(deviceUniqueId ->
+                topics.put(deviceUniqueId, mqttPublishService.commandTopic(deviceUniqueId, "media")));
+
+        outboxService.publishSerialized(topics, payload);
     }
 
     @Transactional
@@ -231,48 +379,55 @@ public class DeviceService {
         return DeviceDetailResponse.from(device);
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void updateDeviceStatusFromMqtt(String deviceUniqueId, String statusType, String payload) {
         log.info("[MQTT Inbound] ID : {}, TYPE : {}, PAYLOAD : {}", deviceUniqueId, statusType, payload);
 
-        Device device = findByDeviceUniqueId(deviceUniqueId);
+        DeviceIdentity device = deviceIdentityCache.getByUniqueId(deviceUniqueId);
 
         try {
             switch (statusType) {
                 case "power":
                     JsonNode jsonPower = objectMapper.readTree(payload);
                     boolean power = jsonPower.get("status").asBoolean();
+                    deviceCommandTracker.acknowledge(deviceUniqueId, statusType, jsonPower);
 
-                    device.updatePower(power);
+                    deviceStateBuffer.bufferPower(deviceUniqueId, power);
+                    deviceEventHub.publish(eventRecipients(device), device.deviceId(), statusType, power);
                     // TODO FCM
-                    fcmNotificationService.sendNotification(device.getUser().getId(),
+                    fcmNotificationAggregator.notifyDeviceEvent(device.userId(), device.deviceId(), statusType,
                             "전원",
-                            device.getDeviceName() + (power ? " 의 전원이 켜졌습니다." : " 의 전원이 꺼졌습니다."));
+                            device.deviceName() + (power ? " 의 전원이 켜졌습니다." : " 의 전원이 꺼졌습니다."));
                     break;
                 case "open":
                     JsonNode jsonOpen = objectMapper.readTree(payload);
                     boolean open = jsonOpen.get("status").asBoolean();
+                    deviceCommandTracker.acknowledge(deviceUniqueId, statusType, jsonOpen);
 
-                    device.updateOpen(open);
+                    deviceStateBuffer.bufferOpen(deviceUniqueId, open);
+                    deviceEventHub.publish(eventRecipients(device), device.deviceId(), statusType, open);
                     // TODO FCM
-                    fcmNotificationService.sendNotification(device.getUser().getId(),
+                    fcmNotificationAggregator.notifyDeviceEvent(device.userId(), device.deviceId(), statusType,
                             "개폐",
-                            device.getDeviceName() + (open ? " 이 열렸습니다." : " 이 닫혔습니다."));
+                            device.deviceName() + (open ? " 이 열렸습니다." : " 이 닫혔습니다."));
                     break;
                 case "mode":
                     JsonNode modeJson = objectMapper.readTree(payload);
                     String modeStr = modeJson.get("status").asText();
                     DeviceMode mode = DeviceMode.valueOf(modeStr);
+                    deviceCommandTracker.acknowledge(deviceUniqueId, statusType, modeJson);
 
-                    device.updateMode(mode);
+                    deviceStateBuffer.bufferMode(deviceUniqueId, mode);
+                    deviceEventHub.publish(eventRecipients(device), device.deviceId(), statusType, mode);
                     // TODO FCM
-                    fcmNotificationService.sendNotification(device.getUser().getId(),
+                    fcmNotificationAggregator.notifyDeviceEvent(device.userId(), device.deviceId(), statusType,
                             "모드",
-                            device.getDeviceName() + " 가 " + mode + " 입니다.");
+                            device.deviceName() + " 가 " + mode + " 입니다.");
                     break;
                 case "sensor":
+                    deviceEventHub.publish(eventRecipients(device), device.deviceId(), statusType, objectMapper.readTree(payload));
                     // TODO FCM
-                    fcmNotificationService.sendNotification(device.getUser().getId(),
+                    fcmNotificationAggregator.notifyDeviceEvent(device.userId(), device.deviceId(), statusType,
                             "센서",
                             payload);
                     break;
@@ -285,14 +440,85 @@ public class DeviceService {
 
     }
 
+    private List<Long> eventRecipients(DeviceIdentity device) {
+        List<Long> sharedUserIds = deviceAccessCache.sharedUserIds(device.deviceId());
+        List<Long> recipients = new ArrayList<>(sharedUserIds.size() + 1);
+
+        recipients.add(device.userId());
+        recipients.addAll(sharedUserIds);
+
+        return recipients;
+    }
+
+    private Set<Long> resolveBulkTargets(DeviceBulkCommandRequest request, DeviceGroupMembership group) {
+        Set<Long> deviceIds = new LinkedHashSet<>();
+
+        if (request.deviceIds() != null) {
+            deviceIds.addAll(request.deviceIds());
+        }
+
+        if (group != null) {
+            deviceIds.addAll(group.deviceIds());
+        }
+
+        deviceIds.remove(null);
+
+        // 빈 그룹은 결과 없이 끝나지만, 대상을 하나도 지정하지 않은 요청은 잘못된 요청이다
+        if ((deviceIds.isEmpty() && group == null) || deviceIds.size() > BULK_COMMAND_LIMIT) {
+            throw new CustomException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+
+        return deviceIds;
+    }
+
+    private Map<String, Object> mediaPayload(Long mediaId, String mediaUrl) {
+        // 미디어를 해제할 때는 두 값 모두 null 로 보낸다
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("mediaId", mediaId);
+        payload.put("mediaUrl", mediaUrl);
+
+        return payload;
+    }
+
+    private void bufferCommandState(String deviceUniqueId, String command, Object newValue) {
+        // 버퍼에 남은 이전 보고값이 방금 쓴 값을 덮어쓰지 않도록 함께 기록한다
+        switch (command) {
+            case "power" -> deviceStateBuffer.bufferPower(deviceUniqueId, (Boolean) newValue);
+            case "open" -> deviceStateBuffer.bufferOpen(deviceUniqueId, (Boolean) newValue);
+            case "opacity" -> deviceStateBuffer.bufferOpacity(deviceUniqueId, (Boolean) newValue);
+            case "mode" -> deviceStateBuffer.bufferMode(deviceUniqueId, (DeviceMode) newValue);
+        }
+    }
+
+    private DeviceMode parseMode(String mode) {
+        try {
+            return DeviceMode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new CustomException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+    }
+
+    // 엔티티를 읽는 경로는 캐시 대신 읽은 소유자와 공유 목록으로 확인해, 다른 인스턴스에서 회수된 권한이 남지 않게 한다
     @Transactional(readOnly = true)
     public Device findDeviceByUser(Long deviceId, Long userId) {
-        return deviceRepository.findByIdAndUserId(deviceId, userId)
+        Device device = deviceRepository.findById(deviceId)
                 .orElseThrow(() -> new CustomException(ErrorCode.FORBIDDEN_DEVICE_ACCESS));
+
+        requireAccess(device.getId(), device.getUser().getId(), userId);
+
+        return device;
     }
 
-    public List<Device> findByAllMedia(Media media) {
-        return deviceRepository.findAllByMedia(media);
+    @Transactional(readOnly = true)
+    public Device findDeviceByOwner(Long deviceId, Long userId) {
+        Device device = deviceRepository.findById(deviceId)
+                .orElseThrow(() -> new CustomException(ErrorCode.FORBIDDEN_DEVICE_ACCESS));
+
+        if (!device.getUser().getId().equals(userId)) {
+            throw new CustomException(ErrorCode.FORBIDDEN_DEVICE_ACCESS);
+        }
+
+        return device;
     }
 
     public Device findByDeviceUniqueId(String deviceUniqueId) {
@@ -300,12 +526,37 @@ public class DeviceService {
                 .orElseThrow(() -> new CustomException(ErrorCode.DEVICE_NOT_FOUND));
     }
 
-    // TODO improve music part
-    public String findById(Long deviceId) {
-        Device device = deviceRepository.findById(deviceId)
+    public DeviceIdentity findIdentityByDeviceUniqueId(String deviceUniqueId) {
+        return deviceIdentityCache.getByUniqueId(deviceUniqueId);
+    }
+
+    public DeviceIdentity findIdentityById(Long deviceId) {
+        return deviceIdentityCache.getById(deviceId);
+    }
+
+    // 다른 인스턴스에서 삭제되었거나 소유자가 바뀐 디바이스에 업로드하지 않도록 캐시가 아닌 DB 에서 확인한다
+    public DeviceIdentity findAccessibleIdentity(Long deviceId, Long userId) {
+        DeviceIdentity identity = deviceRepository.findIdentityById(deviceId)
                 .orElseThrow(() -> new CustomException(ErrorCode.DEVICE_NOT_FOUND));
 
-        return device.getDeviceUniqueId();
+        requireAccess(identity.deviceId(), identity.userId(), userId);
+
+        return identity;
+    }
+
+    private void requireAccess(Long deviceId, Long ownerId, Long userId) {
+        if (ownerId.equals(userId)) {
+            return;
+        }
+
+        if (!userDevicePermissionRepository.existsById(new UserDevicePermissionId(userId, deviceId))) {
+            throw new CustomException(ErrorCode.FORBIDDEN_DEVICE_ACCESS);
+        }
+    }
+
+    // TODO improve music part
+    public String findById(Long deviceId) {
+        return deviceIdentityCache.getById(deviceId).deviceUniqueId();
     }
 
     public void publishMediaUpdateToDevice(Device device) {
@@ -320,9 +571,7 @@ public class DeviceService {
             mediaUrl = s3Service.generatePresignedUrlForDownload(media.getFileUrl());
         }
 
-        Map<String, Object> payload = Map.of("mediaId", mediaId, "mediaUrl", mediaUrl);
-
-        mqttPublishService.publishCommand(device.getDeviceUniqueId(), "media", payload);
+        outboxService.publishCommand(device.getDeviceUniqueId(), "media", mediaPayload(mediaId, mediaUrl));
     }
 
     public void publishMusicUpdateToDevice(Device device) {
@@ -340,6 +589,6 @@ public class DeviceService {
         payload.put("musicId", musicId);
         payload.put("musicUrl", musicUrl);
 
-        mqttPublishService.publishCommand(device.getDeviceUniqueId(), "music", payload);
+        outboxService.publishCommand(device.getDeviceUniqueId(), "music", payload);
     }
 }
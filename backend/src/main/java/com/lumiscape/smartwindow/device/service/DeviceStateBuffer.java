@@ -0,0 +1,220 @@
+package com.lumiscape.smartwindow.device.service;
+
+import com.lumiscape.smartwindow.device.domain.Device;
+import com.lumiscape.smartwindow.device.domain.DeviceMode;
+import com.lumiscape.smartwindow.device.domain.PendingDeviceState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+// 제어 요청은 값을 모아 두기만 하고, 기록은 전용 스레드가 호출한 트랜잭션과 분리된 트랜잭션에서 batch 로 한다
+// 트랜잭션 안에서 들어온 값은 커밋된 뒤에 버퍼에 넣으므로, 롤백된 요청의 값은 조회되지도 기록되지도 않는다
+@Slf4j
+@Component
+public class DeviceStateBuffer {
+
+    private static final String FLUSH_SQL = """
+            UPDATE devices
+               SET power_status   = COALESCE(?, power_status),
+                   open_status    = COALESCE(?, open_status),
+                   opacity_status = COALESCE(?, opacity_status),
+                   mode_status    = COALESCE(CAST(? AS device_mode_enum), mode_status)
+             WHERE device_unique_id = ?
+            """;
+
+    private final Map<String, PendingDeviceState> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Semaphore flushSignal = new Semaphore(0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long flushIntervalMillis;
+    private final int flushThreshold;
+
+    private final Counter bufferedCounter;
+    private final Counter flushedCounter;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public DeviceStateBuffer(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.device.state-buffer.flush-interval-ms:500}") long flushIntervalMillis,
+                             @Value("${app.device.state-buffer.flush-threshold:500}") int flushThreshold,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushThreshold = flushThreshold;
+
+        this.bufferedCounter = meterRegistry.counter("device.state.buffer.updates");
+        this.flushedCounter = meterRegistry.counter("device.state.buffer.flushed");
+        this.flushTimer = meterRegistry.timer("device.state.buffer.flush");
+
+        meterRegistry.gaugeMapSize("device.state.buffer.pending", List.of(), pending);
+    }
+
+    public void bufferPower(String deviceUniqueId, boolean powerStatus) {
+        buffer(deviceUniqueId, state -> state.withPower(powerStatus));
+    }
+
+    public void bufferOpen(String deviceUniqueId, boolean openStatus) {
+        buffer(deviceUniqueId, state -> state.withOpen(openStatus));
+    }
+
+    public void bufferOpacity(String deviceUniqueId, boolean opacityStatus) {
+        buffer(deviceUniqueId, state -> state.withOpacity(opacityStatus));
+    }
+
+    public void bufferMode(String deviceUniqueId, DeviceMode modeStatus) {
+        buffer(deviceUniqueId, state -> state.withMode(modeStatus));
+    }
+
+    public PendingDeviceState peek(Device device) {
+        return pending.getOrDefault(device.getDeviceUniqueId(), PendingDeviceState.EMPTY);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+
+        flusherThread = new Thread(this::flushLoop, "device-state-flusher");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    public void flush() {
+        if (pending.isEmpty() || !flushLock.tryLock()) {
+            return;
+        }
+
+        try {
+            flushTimer.record(this::flushPending);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        running = false;
+
+        flusherThread.interrupt();
+        flusherThread.join(TimeUnit.SECONDS.toMillis(5));
+
+        flush();
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                flushSignal.tryAcquire(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                flushSignal.drainPermits();
+
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Device state flush loop FAILED", e);
+            }
+        }
+    }
+
+    private void buffer(String deviceUniqueId, UnaryOperator<PendingDeviceState> change) {
+        // MQTT 상태 수신처럼 트랜잭션 밖에서 들어온 값은 바로 넣는다
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(deviceUniqueId, change);
+                }
+            });
+            return;
+        }
+
+        apply(deviceUniqueId, change);
+    }
+
+    private void apply(String deviceUniqueId, UnaryOperator<PendingDeviceState> change) {
+        pending.compute(deviceUniqueId, (key, state) -> change.apply(state != null ? state : PendingDeviceState.EMPTY));
+        bufferedCounter.increment();
+
+        if (pending.size() >= flushThreshold) {
+            flushSignal.release();
+        }
+    }
+
+    private void flushPending() {
+        List<Map.Entry<String, PendingDeviceState>> snapshot = pending.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .toList();
+
+        if (snapshot.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, snapshot, snapshot.size(), this::bindState));
+        } catch (Exception e) {
+            log.error("Device state flush FAILED, pending = {}", snapshot.size(), e);
+            return;
+        }
+
+        // flush 도중 새 값이 들어온 디바이스는 다음 주기에 다시 기록한다
+        snapshot.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+        flushedCounter.increment(snapshot.size());
+
+        log.debug("Device state flushed : {}", snapshot.size());
+    }
+
+    private void bindState(PreparedStatement ps, Map.Entry<String, PendingDeviceState> entry) throws SQLException {
+        PendingDeviceState state = entry.getValue();
+
+        setNullableBoolean(ps, 1, state.powerStatus());
+        setNullableBoolean(ps, 2, state.openStatus());
+        setNullableBoolean(ps, 3, state.opacityStatus());
+
+        if (state.modeStatus() != null) {
+            ps.setString(4, state.modeStatus().name());
+        } else {
+            ps.setNull(4, Types.VARCHAR);
+        }
+
+        ps.setString(5, entry.getKey());
+    }
+
+    private void setNullableBoolean(PreparedStatement ps, int index, Boolean value) throws SQLException {
+        if (value != null) {
+            ps.setBoolean(index, value);
+        } else {
+            ps.setNull(index, Types.BOOLEAN);
+        }
+    }
+}
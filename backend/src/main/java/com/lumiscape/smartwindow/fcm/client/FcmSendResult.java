@@ -0,0 +1,10 @@
+package com.lumiscape.smartwindow.fcm.client;
+
+import java.util.List;
+
+public record FcmSendResult(
+        int successCount,
+        List<String> unregisteredTokens,
+        List<String> retryableTokens
+) {
+}
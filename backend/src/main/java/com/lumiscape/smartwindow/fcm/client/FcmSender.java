@@ -0,0 +1,8 @@
+package com.lumiscape.smartwindow.fcm.client;
+
+import java.util.List;
+
+public interface FcmSender {
+
+    FcmSendResult sendMulticast(List<String> tokens, String title, String body) throws Exception;
+}
@@ -0,0 +1,69 @@
+package com.lumiscape.smartwindow.fcm.client;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class FirebaseFcmSender implements FcmSender {
+
+    private static final Set<MessagingErrorCode> UNREGISTERED_CODES = EnumSet.of(
+            MessagingErrorCode.UNREGISTERED,
+            MessagingErrorCode.SENDER_ID_MISMATCH
+    );
+
+    private static final Set<MessagingErrorCode> RETRYABLE_CODES = EnumSet.of(
+            MessagingErrorCode.UNAVAILABLE,
+            MessagingErrorCode.INTERNAL,
+            MessagingErrorCode.QUOTA_EXCEEDED
+    );
+
+    private final FirebaseMessaging firebaseMessaging;
+
+    @Override
+    public FcmSendResult sendMulticast(List<String> tokens, String title, String body) throws FirebaseMessagingException {
+        MulticastMessage message = MulticastMessage.builder()
+                .setNotification(Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                .addAllTokens(tokens)
+                .build();
+
+        BatchResponse response = firebaseMessaging.sendEachForMulticast(message);
+
+        List<String> unregistered = new ArrayList<>();
+        List<String> retryable = new ArrayList<>();
+        List<SendResponse> responses = response.getResponses();
+
+        for (int i = 0; i < responses.size(); i++) {
+            SendResponse sendResponse = responses.get(i);
+
+            if (sendResponse.isSuccessful()) {
+                continue;
+            }
+
+            MessagingErrorCode errorCode = sendResponse.getException().getMessagingErrorCode();
+
+            if (UNREGISTERED_CODES.contains(errorCode)) {
+                unregistered.add(tokens.get(i));
+            } else if (RETRYABLE_CODES.contains(errorCode)) {
+                retryable.add(tokens.get(i));
+            }
+        }
+
+        return new FcmSendResult(response.getSuccessCount(), unregistered, retryable);
+    }
+}
@@ -0,0 +1,8 @@
+package com.lumiscape.smartwindow.fcm.dto;
+
+public record FcmNotification(
+        Long userId,
+        String title,
+        String body
+) {
+}
@@ -0,0 +1,236 @@
+package com.lumiscape.smartwindow.fcm.service;
+
+import com.lumiscape.smartwindow.config.async.AsyncConfig;
+import com.lumiscape.smartwindow.fcm.client.FcmSendResult;
+import com.lumiscape.smartwindow.fcm.client.FcmSender;
+import com.lumiscape.smartwindow.fcm.dto.FcmNotification;
+import com.lumiscape.smartwindow.mobile.dto.MobileToken;
+import com.lumiscape.smartwindow.mobile.repository.MobileRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class FcmDispatcher {
+
+    static final int MULTICAST_LIMIT = 500;
+    private static final int DRAIN_LIMIT = 1000;
+
+    private final FcmSender fcmSender;
+    private final MobileRepository mobileRepository;
+    private final Executor sendExecutor;
+    private final TaskScheduler taskScheduler;
+
+    private final BlockingQueue<FcmNotification> queue;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+
+    private final Counter droppedCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter prunedCounter;
+    private final Counter retryCounter;
+    private final Timer sendTimer;
+
+    private volatile boolean running;
+    private Thread drainThread;
+
+    public FcmDispatcher(FcmSender fcmSender,
+                         MobileRepository mobileRepository,
+                         @Qualifier(AsyncConfig.NOTIFICATION_EXECUTOR) Executor sendExecutor,
+                         TaskScheduler taskScheduler,
+                         @Value("${app.fcm.dispatch.queue-capacity:10000}") int queueCapacity,
+                         @Value("${app.fcm.dispatch.max-attempts:3}") int maxAttempts,
+                         @Value("${app.fcm.dispatch.initial-backoff:1s}") Duration initialBackoff,
+                         MeterRegistry meterRegistry) {
+        this.fcmSender = fcmSender;
+        this.mobileRepository = mobileRepository;
+        this.sendExecutor = sendExecutor;
+        this.taskScheduler = taskScheduler;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+
+        this.droppedCounter = meterRegistry.counter("fcm.dispatch.dropped");
+        this.sentCounter = meterRegistry.counter("fcm.dispatch.sent");
+        this.failedCounter = meterRegistry.counter("fcm.dispatch.failed");
+        this.prunedCounter = meterRegistry.counter("fcm.dispatch.pruned");
+        this.retryCounter = meterRegistry.counter("fcm.dispatch.retry");
+        this.sendTimer = meterRegistry.timer("fcm.dispatch.send");
+
+        meterRegistry.gaugeCollectionSize("fcm.dispatch.queue.depth", List.of(), queue);
+    }
+
+    public boolean enqueue(FcmNotification notification) {
+        if (!queue.offer(notification)) {
+            droppedCounter.increment();
+            log.warn("[ FCM ] Dispatch queue is full, dropped notification, user : {}", notification.userId());
+
+            return false;
+        }
+
+        return true;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+
+        drainThread = new Thread(this::drainLoop, "fcm-dispatcher");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+
+        drainThread.interrupt();
+        drainThread.join(TimeUnit.SECONDS.toMillis(5));
+
+        List<FcmNotification> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+
+        if (!remaining.isEmpty()) {
+            dispatch(remaining);
+        }
+    }
+
+    void dispatch(List<FcmNotification> notifications) {
+        Set<Long> userIds = notifications.stream()
+                .map(FcmNotification::userId)
+                .collect(Collectors.toSet());
+
+        Map<Long, List<String>> tokensByUser = mobileRepository.findTokensByUserIds(userIds).stream()
+                .collect(Collectors.groupingBy(MobileToken::userId,
+                        Collectors.mapping(MobileToken::token, Collectors.toList())));
+
+        // 같은 내용의 알림은 사용자와 관계없이 하나의 multicast 로 묶는다
+        Map<FcmNotification, Set<String>> tokensByContent = new LinkedHashMap<>();
+
+        for (FcmNotification notification : notifications) {
+            List<String> tokens = tokensByUser.get(notification.userId());
+
+            if (tokens == null || tokens.isEmpty()) {
+                log.debug("[ FCM ] No mobile token, user : {}", notification.userId());
+                continue;
+            }
+
+            FcmNotification content = new FcmNotification(null, notification.title(), notification.body());
+            tokensByContent.computeIfAbsent(content, key -> new LinkedHashSet<>()).addAll(tokens);
+        }
+
+        tokensByContent.forEach((content, tokens) -> {
+            List<String> tokenList = List.copyOf(tokens);
+
+            for (int from = 0; from < tokenList.size(); from += MULTICAST_LIMIT) {
+                List<String> chunk = tokenList.subList(from, Math.min(from + MULTICAST_LIMIT, tokenList.size()));
+
+                submit(chunk, content.title(), content.body(), 1);
+            }
+        });
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                FcmNotification first = queue.poll(1, TimeUnit.SECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                List<FcmNotification> batch = new ArrayList<>();
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_LIMIT - 1);
+
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("[ FCM ] Dispatch loop FAILED", e);
+            }
+        }
+    }
+
+    private void submit(List<String> tokens, String title, String body, int attempt) {
+        try {
+            sendExecutor.execute(() -> send(tokens, title, body, attempt));
+        } catch (RejectedExecutionException e) {
+            scheduleRetry(tokens, title, body, attempt);
+        }
+    }
+
+    private void send(List<String> tokens, String title, String body, int attempt) {
+        FcmSendResult result;
+
+        try {
+            long start = System.nanoTime();
+            result = fcmSender.sendMulticast(tokens, title, body);
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            log.warn("[ FCM ] Multicast FAILED, tokens : {}, attempt : {}", tokens.size(), attempt, e);
+            scheduleRetry(tokens, title, body, attempt);
+            return;
+        }
+
+        sentCounter.increment(result.successCount());
+        log.info("[ FCM ] Multicast sent, success : {} / {}", result.successCount(), tokens.size());
+
+        if (!result.unregisteredTokens().isEmpty()) {
+            pruneTokens(result.unregisteredTokens());
+        }
+
+        if (!result.retryableTokens().isEmpty()) {
+            scheduleRetry(result.retryableTokens(), title, body, attempt);
+        }
+    }
+
+    private void scheduleRetry(List<String> tokens, String title, String body, int attempt) {
+        if (attempt >= maxAttempts) {
+            failedCounter.increment(tokens.size());
+            log.error("[ FCM ] Give up after {} attempts, tokens : {}", attempt, tokens.size());
+            return;
+        }
+
+        retryCounter.increment();
+
+        Duration backoff = initialBackoff.multipliedBy(1L << (attempt - 1));
+        taskScheduler.schedule(() -> submit(tokens, title, body, attempt + 1), Instant.now().plus(backoff));
+    }
+
+    private void pruneTokens(List<String> tokens) {
+        try {
+            mobileRepository.deleteAllByIdInBatch(tokens);
+            prunedCounter.increment(tokens.size());
+
+            log.info("[ FCM ] Pruned unregistered tokens : {}", tokens.size());
+        } catch (Exception e) {
+            log.error("[ FCM ] Failed to prune tokens : {}", tokens.size(), e);
+        }
+    }
+}
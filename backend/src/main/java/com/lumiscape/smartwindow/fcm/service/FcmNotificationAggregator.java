@@ -0,0 +1,178 @@
+package com.lumiscape.smartwindow.fcm.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class FcmNotificationAggregator {
+
+    private static final String SENSOR_TYPE = "sensor";
+    private static final long RATE_WINDOW_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final FcmNotificationService fcmNotificationService;
+    private final Duration window;
+    private final Duration sensorWindow;
+    private final int maxPerUserPerMinute;
+
+    private final Map<EventKey, EventWindow> windows = new ConcurrentHashMap<>();
+    private final Map<Long, RateWindow> rates = new ConcurrentHashMap<>();
+
+    private final Counter suppressedCounter;
+    private final Counter summaryCounter;
+    private final Counter rateLimitedCounter;
+
+    public FcmNotificationAggregator(FcmNotificationService fcmNotificationService,
+                                     @Value("${app.fcm.aggregate.window:1m}") Duration window,
+                                     @Value("${app.fcm.aggregate.sensor-window:5m}") Duration sensorWindow,
+                                     @Value("${app.fcm.aggregate.max-per-user-per-minute:30}") int maxPerUserPerMinute,
+                                     MeterRegistry meterRegistry) {
+        this.fcmNotificationService = fcmNotificationService;
+        this.window = window;
+        this.sensorWindow = sensorWindow;
+        this.maxPerUserPerMinute = maxPerUserPerMinute;
+
+        this.suppressedCounter = meterRegistry.counter("fcm.aggregate.suppressed");
+        this.summaryCounter = meterRegistry.counter("fcm.aggregate.summary");
+        this.rateLimitedCounter = meterRegistry.counter("fcm.aggregate.rate_limited");
+
+        meterRegistry.gaugeMapSize("fcm.aggregate.windows", List.of(), windows);
+    }
+
+    // 같은 (사용자, 디바이스, 타입) 의 첫 이벤트는 바로 보내고, 윈도우 안의 나머지는 윈도우가 닫힐 때 요약해서 보낸다
+    public void notifyDeviceEvent(Long userId, Long deviceId, String type, String title, String body) {
+        long now = System.nanoTime();
+        EventKey key = new EventKey(userId, deviceId, type);
+        EventWindow[] expired = new EventWindow[1];
+        boolean[] opened = new boolean[1];
+
+        windows.compute(key, (k, current) -> {
+            if (current == null || current.isExpired(now)) {
+                expired[0] = current;
+                opened[0] = true;
+
+                return new EventWindow(now + windowOf(type).toNanos(), title, body);
+            }
+
+            current.suppress(body);
+            return current;
+        });
+
+        if (expired[0] != null) {
+            sendSummary(key, expired[0]);
+        }
+
+        if (opened[0]) {
+            send(userId, title, body);
+        } else {
+            suppressedCounter.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.fcm.aggregate.sweep-interval-ms:1000}")
+    public void closeExpiredWindows() {
+        long now = System.nanoTime();
+
+        for (EventKey key : windows.keySet()) {
+            EventWindow[] closed = new EventWindow[1];
+
+            windows.computeIfPresent(key, (k, current) -> {
+                if (!current.isExpired(now)) {
+                    return current;
+                }
+
+                closed[0] = current;
+                return null;
+            });
+
+            if (closed[0] != null) {
+                sendSummary(key, closed[0]);
+            }
+        }
+
+        rates.values().removeIf(rate -> rate.isExpired(now));
+    }
+
+    private void sendSummary(EventKey key, EventWindow closed) {
+        if (closed.suppressed == 0) {
+            return;
+        }
+
+        String body = String.format("%s (최근 %s 동안 %d회 변경)", closed.lastBody, describe(windowOf(key.type())), closed.suppressed + 1);
+
+        summaryCounter.increment();
+        send(key.userId(), closed.title, body);
+    }
+
+    private void send(Long userId, String title, String body) {
+        long now = System.nanoTime();
+        RateWindow rate = rates.compute(userId, (k, current) ->
+                current == null || current.isExpired(now) ? new RateWindow(now + RATE_WINDOW_NANOS) : current);
+
+        if (rate.count.incrementAndGet() > maxPerUserPerMinute) {
+            rateLimitedCounter.increment();
+            log.debug("[ FCM ] Rate limited, user : {}", userId);
+            return;
+        }
+
+        fcmNotificationService.sendNotification(userId, title, body);
+    }
+
+    private Duration windowOf(String type) {
+        return SENSOR_TYPE.equals(type) ? sensorWindow : window;
+    }
+
+    private String describe(Duration duration) {
+        return duration.toMinutes() > 0 ? duration.toMinutes() + "분" : duration.toSeconds() + "초";
+    }
+
+    private record EventKey(Long userId, Long deviceId, String type) {
+    }
+
+    private static final class EventWindow {
+
+        private final long closesAt;
+        private final String title;
+        private String lastBody;
+        private int suppressed;
+
+        private EventWindow(long closesAt, String title, String body) {
+            this.closesAt = closesAt;
+            this.title = title;
+            this.lastBody = body;
+        }
+
+        private void suppress(String body) {
+            this.lastBody = body;
+            this.suppressed++;
+        }
+
+        private boolean isExpired(long now) {
+            return now - closesAt >= 0;
+        }
+    }
+
+    private static final class RateWindow {
+
+        private final long resetsAt;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private RateWindow(long resetsAt) {
+            this.resetsAt = resetsAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - resetsAt >= 0;
+        }
+    }
+}
@@ -27,6 +27,7 @@ public enum ErrorCode {
     MUSIC_NOT_FOUND(HttpStatus.NOT_FOUND, "E-404-04", "음악을 찾을 수 없습니다."),
     ALARM_NOT_FOUND(HttpStatus.NOT_FOUND, "E-404-05", "알람을 찾을 수 없습니다."),
     MOBILE_NOT_FOUND(HttpStatus.NOT_FOUND, "E-404-06", "모바일 기기를 찾을 수 없습니다."),
+    DEVICE_GROUP_NOT_FOUND(HttpStatus.NOT_FOUND, "E-404-07", "디바이스 그룹을 찾을 수 없습니다."),
 
     // 409 Conflict
     DEVICE_ALREADY_EXISTS(HttpStatus.CONFLICT, "E-409-01", "이미 등록된 디바이스입니다."),
@@ -34,7 +35,10 @@ public enum ErrorCode {
     // 500 Internal Server Error
     MEDIA_UPLOAD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "E-500-01", "미디어 업로드에 실패하였습니다."),
     MQTT_PUBLISH_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "E-500-02", "명령어 전송에 실패하였습니다."),
-    INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "E-500-99", "서버 내부 오류가 발생했습니다.");
+    INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "E-500-99", "서버 내부 오류가 발생했습니다."),
+
+    // 503 Service Unavailable
+    DEVICE_STREAM_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "E-503-01", "현재 구성에서는 디바이스 이벤트 스트림을 사용할 수 없습니다.");
 
     private final HttpStatus status;
     private final String code;
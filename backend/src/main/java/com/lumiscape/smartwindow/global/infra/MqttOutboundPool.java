@@ -0,0 +1,248 @@
+package com.lumiscape.smartwindow.global.infra;
+
+import com.lumiscape.smartwindow.global.exception.CustomException;
+import com.lumiscape.smartwindow.global.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.integration.mqtt.event.MqttConnectionFailedEvent;
+import org.springframework.integration.mqtt.event.MqttMessageDeliveredEvent;
+import org.springframework.integration.mqtt.event.MqttMessageSentEvent;
+import org.springframework.integration.mqtt.outbound.MqttPahoMessageHandler;
+import org.springframework.integration.mqtt.support.MqttHeaders;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 디바이스 해시로 고른 연결마다 단일 스레드 큐를 두어 디바이스별 순서를 지키면서 연결 수만큼 병렬로 발행한다
+@Slf4j
+public class MqttOutboundPool {
+
+    // sent 이벤트에서 발행 결과 future 를 찾기 위해 메시지 헤더에 싣는다
+    private static final String RESULT_HEADER = "mqttOutboundResult";
+
+    private final List<MqttPahoMessageHandler> handlers;
+    private final ThreadPoolExecutor[] lanes;
+    private final long enqueueTimeoutMillis;
+    private final long deliveryTimeoutMillis;
+
+    // clientId:messageId -> PUBACK 을 기다리는 발행. result 가 null 이면 sent 이벤트보다 PUBACK 이 먼저 온 경우다
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Counter unackedCounter;
+    private final Timer queueTimer;
+    private final Timer deliveryTimer;
+
+    public MqttOutboundPool(List<MqttPahoMessageHandler> handlers, int queueCapacity, long enqueueTimeoutMillis,
+                            long deliveryTimeoutMillis, MeterRegistry meterRegistry) {
+        this.handlers = handlers;
+        this.lanes = new ThreadPoolExecutor[handlers.size()];
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        this.deliveryTimeoutMillis = deliveryTimeoutMillis;
+
+        this.publishedCounter = meterRegistry.counter("mqtt.publish.sent");
+        this.failedCounter = meterRegistry.counter("mqtt.publish.failed");
+        this.rejectedCounter = meterRegistry.counter("mqtt.publish.rejected");
+        this.unackedCounter = meterRegistry.counter("mqtt.publish.unacked");
+        this.queueTimer = meterRegistry.timer("mqtt.publish.queue.latency");
+        this.deliveryTimer = Timer.builder("mqtt.publish.delivery.latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        meterRegistry.gaugeMapSize("mqtt.publish.inflight", List.of(), inFlight);
+
+        for (int i = 0; i < lanes.length; i++) {
+            ThreadPoolExecutor lane = createLane(i, queueCapacity);
+
+            Gauge.builder("mqtt.publish.queue.depth", lane, executor -> executor.getQueue().size())
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+
+            lane.prestartAllCoreThreads();
+            lanes[i] = lane;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        handlers.forEach(MqttPahoMessageHandler::start);
+
+        log.info("MQTT outbound pool initialized : connections = {}", handlers.size());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("MQTT outbound lane did not terminate in time, dropped = {}", lane.shutdownNow().size());
+            }
+        }
+
+        handlers.forEach(MqttPahoMessageHandler::stop);
+    }
+
+    // 반환된 future 는 브로커의 PUBACK 을 받으면 완료되며, 발행 실패, 연결 끊김, 응답 시간 초과면 예외로 완료된다
+    public CompletableFuture<Void> publish(String deviceUniqueId, String topic, String payload) {
+        int index = Math.floorMod(deviceUniqueId.hashCode(), lanes.length);
+        MqttPahoMessageHandler handler = handlers.get(index);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        Message<String> message = MessageBuilder.withPayload(payload)
+                .setHeader(MqttHeaders.TOPIC, topic)
+                .setHeader(RESULT_HEADER, result)
+                .build();
+        long enqueuedAt = System.nanoTime();
+
+        Runnable task = () -> {
+            queueTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+
+            try {
+                // async 모드라 브로커로 넘기면 바로 돌아오고, 같은 스레드에서 sent 이벤트가 먼저 발행된다
+                handler.handleMessage(message);
+                publishedCounter.increment();
+            } catch (Exception e) {
+                failedCounter.increment();
+                log.error("MQTT Publish Failed : topic = {}", topic, e);
+                result.completeExceptionally(e);
+            }
+        };
+
+        try {
+            lanes[index].execute(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+
+            throw new CustomException(ErrorCode.MQTT_PUBLISH_FAILED);
+        }
+
+        return result;
+    }
+
+    @EventListener
+    @SuppressWarnings("unchecked")
+    public void onSent(MqttMessageSentEvent event) {
+        CompletableFuture<Void> result = (CompletableFuture<Void>) event.getMessage().getHeaders().get(RESULT_HEADER);
+
+        if (result == null) {
+            return;
+        }
+
+        String key = event.getClientId() + ":" + event.getMessageId();
+        InFlight sent = new InFlight(result, System.nanoTime());
+        InFlight acked = inFlight.putIfAbsent(key, sent);
+
+        if (acked != null && acked.result() == null && inFlight.remove(key, acked)) {
+            deliveryTimer.record(0, TimeUnit.NANOSECONDS);
+            result.complete(null);
+        }
+    }
+
+    @EventListener
+    public void onDelivered(MqttMessageDeliveredEvent event) {
+        String key = event.getClientId() + ":" + event.getMessageId();
+        InFlight sent = inFlight.putIfAbsent(key, new InFlight(null, System.nanoTime()));
+
+        if (sent != null && sent.result() != null && inFlight.remove(key, sent)) {
+            deliveryTimer.record(System.nanoTime() - sent.sentAt(), TimeUnit.NANOSECONDS);
+            sent.result().complete(null);
+        }
+    }
+
+    // clean session 이라 연결이 끊기면 PUBACK 을 기다리던 메시지는 다시 전송되지 않으므로 바로 실패로 돌린다
+    @EventListener
+    public void onConnectionLost(MqttConnectionFailedEvent event) {
+        if (!(event.getSource() instanceof MqttPahoMessageHandler handler) || !handlers.contains(handler)) {
+            return;
+        }
+
+        String prefix = handler.getClientId() + ":";
+
+        inFlight.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) {
+                return false;
+            }
+
+            fail(entry.getValue(), new CustomException(ErrorCode.MQTT_PUBLISH_FAILED));
+            return true;
+        });
+    }
+
+    // PUBACK 을 제시간에 받지 못한 메시지는 실패로 돌리고 in-flight 에서 정리한다
+    @Scheduled(fixedDelayString = "${app.mqtt.outbound.inflight-sweep-interval-ms:1000}")
+    public void expireUnacknowledged() {
+        long expiredBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(deliveryTimeoutMillis);
+
+        inFlight.entrySet().removeIf(entry -> {
+            if (entry.getValue().sentAt() - expiredBefore >= 0) {
+                return false;
+            }
+
+            fail(entry.getValue(), new TimeoutException("MQTT PUBACK not received : " + entry.getKey()));
+            return true;
+        });
+    }
+
+    private void fail(InFlight entry, Throwable cause) {
+        if (entry.result() == null) {
+            return;
+        }
+
+        unackedCounter.increment();
+        entry.result().completeExceptionally(cause);
+    }
+
+    private ThreadPoolExecutor createLane(int index, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mqtt-outbound-" + index + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                this::awaitLaneCapacity);
+    }
+
+    // 큐가 가득 차면 잠시 기다렸다가, 그래도 자리가 없거나 lane 이 종료되었으면 호출자에게 실패를 알린다
+    private void awaitLaneCapacity(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("MQTT outbound lane is shut down");
+        }
+
+        try {
+            if (!lane.getQueue().offer(task, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("MQTT outbound lane is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new RejectedExecutionException("Interrupted while waiting for MQTT outbound lane", e);
+        }
+    }
+
+    private record InFlight(CompletableFuture<Void> result, long sentAt) {
+    }
+}
@@ -2,45 +2,65 @@ package com.lumiscape.smartwindow.global.infra;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.lumiscape.smartwindow.config.mqtt.MqttConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.lumiscape.smartwindow.global.exception.CustomException;
 import com.lumiscape.smartwindow.global.exception.ErrorCode;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.MessagingException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MqttPublishService {
 
-    private final MqttConfig.MqttPublishGateway mqttGateway;
+    private final MqttOutboundPool mqttOutboundPool;
     private final ObjectMapper objectMapper;
 
+    // 디바이스마다 명령별 topic 문자열을 한 번만 만든다
+    private final Cache<String, Map<String, String>> topicCache;
+
+    public MqttPublishService(MqttOutboundPool mqttOutboundPool,
+                              ObjectMapper objectMapper,
+                              @Value("${app.mqtt.outbound.topic-cache-size:100000}") long topicCacheSize) {
+        this.mqttOutboundPool = mqttOutboundPool;
+        this.objectMapper = objectMapper;
+        this.topicCache = Caffeine.newBuilder()
+                .maximumSize(topicCacheSize)
+                .build();
+    }
+
     public void publishCommand(String deviceUniqueId, String command, Object payload) {
-        try {
-            String jsonPayload = objectMapper.writeValueAsString(payload);
+        publish(deviceUniqueId, commandTopic(deviceUniqueId, command), serialize(payload));
+    }
 
-            publish(deviceUniqueId, command, jsonPayload);
+    // 여러 디바이스에 같은 payload 를 보낼 때는 한 번 직렬화한 문자열과 미리 만든 topic 을 그대로 쓴다
+    public CompletableFuture<Void> publishSerialized(String deviceUniqueId, String topic, String payload) {
+        return publish(deviceUniqueId, topic, payload);
+    }
+
+    public String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
         } catch (JsonProcessingException e) {
-            log.error("MQTT Publish Failed Serializer : device = {}, command = {}", deviceUniqueId, command, e);
+            log.error("MQTT Publish Failed Serializer : payload = {}", payload, e);
 
             throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
         }
     }
 
-    private void publish(String deviceUniqueId, String command, String payload) {
-        String topic = String.format("/devices/%s/command/%s", deviceUniqueId, command);
-
-        try {
-            log.info("MQTT Publish : device = {}, command = {}, payload = {}", deviceUniqueId, command, payload);
+    public String commandTopic(String deviceUniqueId, String command) {
+        return topicCache.get(deviceUniqueId, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(command, key -> "/devices/" + deviceUniqueId + "/command/" + key);
+    }
 
-            mqttGateway.publish(topic, payload);
-        } catch (MessagingException e) {
-            log.error("MQTT Publish Failed : device = {}, command = {}, payload = {}", deviceUniqueId,command, payload);
+    private CompletableFuture<Void> publish(String deviceUniqueId, String topic, String payload) {
+        log.debug("MQTT Publish : device = {}, topic = {}, payload = {}", deviceUniqueId, topic, payload);
 
-            throw new CustomException(ErrorCode.MQTT_PUBLISH_FAILED);
-        }
+        return mqttOutboundPool.publish(deviceUniqueId, topic, payload);
     }
 }
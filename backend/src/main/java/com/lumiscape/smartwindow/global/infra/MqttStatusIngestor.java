@@ -0,0 +1,118 @@
+package com.lumiscape.smartwindow.global.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class MqttStatusIngestor {
+
+    private final ThreadPoolExecutor[] lanes;
+    private final Counter dispatchedCounter;
+    private final Counter backpressureCounter;
+    private final Counter failedCounter;
+    private final Timer processTimer;
+
+    public MqttStatusIngestor(@Value("${app.mqtt.ingest.lanes:0}") int laneCount,
+                              @Value("${app.mqtt.ingest.queue-capacity:1000}") int queueCapacity,
+                              MeterRegistry meterRegistry) {
+        int size = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+
+        this.lanes = new ThreadPoolExecutor[size];
+        this.dispatchedCounter = meterRegistry.counter("mqtt.ingest.dispatched");
+        this.backpressureCounter = meterRegistry.counter("mqtt.ingest.backpressure");
+        this.failedCounter = meterRegistry.counter("mqtt.ingest.failed");
+        this.processTimer = meterRegistry.timer("mqtt.ingest.latency");
+
+        for (int i = 0; i < size; i++) {
+            ThreadPoolExecutor lane = createLane(i, queueCapacity);
+
+            Gauge.builder("mqtt.ingest.queue.depth", lane, executor -> executor.getQueue().size())
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+
+            lanes[i] = lane;
+        }
+
+        log.info("MQTT ingest lanes initialized : lanes = {}, queueCapacity = {}", size, queueCapacity);
+    }
+
+    public void dispatch(String deviceUniqueId, Runnable task) {
+        long enqueuedAt = System.nanoTime();
+
+        lanes[laneOf(deviceUniqueId)].execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                failedCounter.increment();
+                log.error("MQTT ingest task FAILED : device = {}", deviceUniqueId, e);
+            } finally {
+                processTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+
+        dispatchedCounter.increment();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("MQTT ingest lane did not terminate in time, dropped = {}", lane.shutdownNow().size());
+            }
+        }
+    }
+
+    private int laneOf(String deviceUniqueId) {
+        return Math.floorMod(deviceUniqueId.hashCode(), lanes.length);
+    }
+
+    private ThreadPoolExecutor createLane(int index, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mqtt-ingest-" + index + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                blockingPolicy());
+    }
+
+    private RejectedExecutionHandler blockingPolicy() {
+        return (runnable, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("MQTT ingest lane is shut down");
+            }
+
+            // lane 이 가득 차면 Paho 콜백 스레드를 대기시켜 브로커 수신 속도를 늦춘다 (디바이스별 순서 유지)
+            backpressureCounter.increment();
+
+            try {
+                executor.getQueue().put(runnable);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new RejectedExecutionException("Interrupted while waiting for MQTT ingest lane", e);
+            }
+        };
+    }
+}
@@ -18,6 +18,7 @@ public class MqttSubscribeService {
 
     private final @Lazy DeviceService deviceService;
     private final @Lazy AlarmService alarmService;
+    private final MqttStatusIngestor mqttStatusIngestor;
 //    private final @Lazy FcmService fcmService;
 
     @ServiceActivator(inputChannel = MqttConfig.MQTT_STATUS_INPUT_CHANNEL)
@@ -31,11 +32,12 @@ public class MqttSubscribeService {
             return;
         }
 
-        try {
-            String deviceUniqueId = parts[2];
-            String statusType = parts[4];
+        String deviceUniqueId = parts[2];
+        String statusType = parts[4];
 
-            deviceService.updateDeviceStatusFromMqtt(deviceUniqueId, statusType, payload);
+        try {
+            mqttStatusIngestor.dispatch(deviceUniqueId,
+                    () -> deviceService.updateDeviceStatusFromMqtt(deviceUniqueId, statusType, payload));
 
             // TODO FCM
 //            fcmService.notifyDeviceStatusChange(deviceUniqueId, statusType, payload);
@@ -61,7 +63,7 @@ public class MqttSubscribeService {
 
             switch (requestType) {
                 case "alarms":
-                    alarmService.publishAlarmListToDevice(deviceUniqueId);
+                    alarmService.publishAlarmListToDevice(deviceUniqueId, payload);
                     break;
                 default:
                     log.warn("MQTT REQUEST receive FAILED : {}", requestType);
@@ -1,15 +1,25 @@
 package com.lumiscape.smartwindow.global.infra;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.lumiscape.smartwindow.global.exception.CustomException;
 import com.lumiscape.smartwindow.global.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import software.amazon.awssdk.services.s3.S3Client;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
@@ -18,6 +28,9 @@ import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignReques
 
 import java.net.URL;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -27,11 +40,39 @@ public class S3Service {
 
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
+    private final MeterRegistry meterRegistry;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
+    @Value("${app.s3.presign-cache.max-size:50000}")
+    private long presignCacheMaxSize;
+
+    @Value("${app.s3.presign-cache.min-remaining:10m}")
+    private Duration presignMinRemaining;
+
+    private Cache<String, String> downloadUrlCache;
+
     private static final Duration MEDIA_URL_EXPIRATION = Duration.ofMinutes(30);
+    // DeleteObjects 한 번에 보낼 수 있는 최대 키 수
+    private static final int DELETE_OBJECTS_MAX_KEYS = 1000;
+
+    @PostConstruct
+    public void init() {
+        if (presignMinRemaining.isNegative() || presignMinRemaining.compareTo(MEDIA_URL_EXPIRATION) >= 0) {
+            throw new IllegalStateException("app.s3.presign-cache.min-remaining must be at least 0 and less than "
+                    + MEDIA_URL_EXPIRATION + " (presigned URL lifetime), but was " + presignMinRemaining);
+        }
+
+        // 캐시된 URL 은 최소 presignMinRemaining 만큼의 유효 시간이 남아 있을 때까지만 재사용한다
+        this.downloadUrlCache = Caffeine.newBuilder()
+                .maximumSize(presignCacheMaxSize)
+                .expireAfterWrite(MEDIA_URL_EXPIRATION.minus(presignMinRemaining))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, downloadUrlCache, "s3.presignedDownloadUrl");
+    }
 
     public String generatePresignedUrlForUpload(String s3ObjectKey) {
         try {
@@ -64,6 +105,10 @@ public class S3Service {
             return null;
         }
 
+        return downloadUrlCache.get(s3ObjectKey, this::presignDownload);
+    }
+
+    private String presignDownload(String s3ObjectKey) {
         try {
             GetObjectRequest objectRequest = GetObjectRequest.builder()
                     .bucket(bucket)
@@ -79,7 +124,7 @@ public class S3Service {
 
             URL url = presignedGetObjectRequest.url();
 
-            log.info("S3 다운로드용 URL 생성 완료 : {} - {}",  s3ObjectKey, url);
+            log.debug("S3 다운로드용 URL 생성 완료 : {}", s3ObjectKey);
 
             return url.toString();
         } catch (Exception e) {
@@ -94,6 +139,8 @@ public class S3Service {
             return;
         }
 
+        downloadUrlCache.invalidate(s3ObjectKey);
+
         try {
             DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
                     .bucket(bucket)
@@ -108,6 +155,43 @@ public class S3Service {
         }
     }
 
+    public String getBucket() {
+        return bucket;
+    }
+
+    // DeleteObjects 로 최대 1000 개씩 묶어 지우고, 지우지 못한 키를 돌려준다
+    // 요청 자체가 실패하면 예외를 그대로 던지므로 호출한 쪽에서 전체를 재시도한다
+    public Set<String> deleteObjects(String targetBucket, List<String> s3ObjectKeys) {
+        Set<String> failedKeys = new HashSet<>();
+
+        s3ObjectKeys.forEach(downloadUrlCache::invalidate);
+
+        for (int from = 0; from < s3ObjectKeys.size(); from += DELETE_OBJECTS_MAX_KEYS) {
+            List<String> chunk = s3ObjectKeys.subList(from, Math.min(from + DELETE_OBJECTS_MAX_KEYS, s3ObjectKeys.size()));
+
+            DeleteObjectsRequest deleteObjectsRequest = DeleteObjectsRequest.builder()
+                    .bucket(targetBucket)
+                    .delete(Delete.builder()
+                            .objects(chunk.stream()
+                                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                                    .toList())
+                            .quiet(true)
+                            .build())
+                    .build();
+
+            DeleteObjectsResponse response = s3Client.deleteObjects(deleteObjectsRequest);
+
+            for (S3Error error : response.errors()) {
+                log.warn("S3 파일 삭제 실패 : {} - {} {}", error.key(), error.code(), error.message());
+                failedKeys.add(error.key());
+            }
+        }
+
+        log.info("S3 파일 일괄 삭제 완료 : {} 건 중 {} 건 실패", s3ObjectKeys.size(), failedKeys.size());
+
+        return failedKeys;
+    }
+
     private String createS3FileName(String originalFileName) {
 
         String ext = extractExtension(originalFileName);
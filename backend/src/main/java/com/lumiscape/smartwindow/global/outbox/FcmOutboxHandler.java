@@ -0,0 +1,41 @@
+package com.lumiscape.smartwindow.global.outbox;
+
+import com.lumiscape.smartwindow.fcm.service.FcmNotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// FcmDispatcher 큐에 넘기면 완료로 보고, 이후의 multicast 재시도는 dispatcher 가 맡는다
+@Component
+@RequiredArgsConstructor
+public class FcmOutboxHandler implements OutboxHandler {
+
+    private final FcmNotificationService fcmNotificationService;
+
+    @Override
+    public OutboxChannel channel() {
+        return OutboxChannel.FCM;
+    }
+
+    @Override
+    public List<CompletableFuture<Void>> deliver(List<OutboxEvent> events) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(events.size());
+
+        for (OutboxEvent event : events) {
+            try {
+                boolean queued = fcmNotificationService.sendNotification(Long.valueOf(event.destination()), event.subject(), event.payload());
+
+                results.add(queued
+                        ? CompletableFuture.completedFuture(null)
+                        : CompletableFuture.failedFuture(new IllegalStateException("FCM dispatch queue is full")));
+            } catch (Exception e) {
+                results.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        return results;
+    }
+}
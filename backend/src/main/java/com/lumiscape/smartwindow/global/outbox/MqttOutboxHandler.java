@@ -0,0 +1,36 @@
+package com.lumiscape.smartwindow.global.outbox;
+
+import com.lumiscape.smartwindow.global.infra.MqttPublishService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@RequiredArgsConstructor
+public class MqttOutboxHandler implements OutboxHandler {
+
+    private final MqttPublishService mqttPublishService;
+
+    @Override
+    public OutboxChannel channel() {
+        return OutboxChannel.MQTT;
+    }
+
+    @Override
+    public List<CompletableFuture<Void>> deliver(List<OutboxEvent> events) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(events.size());
+
+        for (OutboxEvent event : events) {
+            try {
+                results.add(mqttPublishService.publishSerialized(event.destination(), event.subject(), event.payload()));
+            } catch (Exception e) {
+                results.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,18 @@
+package com.lumiscape.smartwindow.global.outbox;
+
+// ordered 채널은 같은 destination 의 이벤트를 id 순서대로 보낸다
+public enum OutboxChannel {
+    MQTT(true),
+    FCM(true),
+    S3_DELETE(false);
+
+    private final boolean ordered;
+
+    OutboxChannel(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+}
@@ -0,0 +1,14 @@
+package com.lumiscape.smartwindow.global.outbox;
+
+import java.time.Instant;
+
+public record OutboxEvent(
+        Long id,
+        OutboxChannel channel,
+        String destination,
+        String subject,
+        String payload,
+        int attempts,
+        Instant createdAt
+) {
+}
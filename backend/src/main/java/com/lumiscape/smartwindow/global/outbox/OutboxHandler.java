@@ -0,0 +1,12 @@
+package com.lumiscape.smartwindow.global.outbox;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// 채널별 발행 방식. 같은 채널의 이벤트를 묶어 받고, 이벤트마다 하나의 future 를 같은 순서로 돌려준다
+public interface OutboxHandler {
+
+    OutboxChannel channel();
+
+    List<CompletableFuture<Void>> deliver(List<OutboxEvent> events);
+}
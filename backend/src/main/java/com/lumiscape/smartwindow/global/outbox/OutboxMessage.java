@@ -0,0 +1,21 @@
+package com.lumiscape.smartwindow.global.outbox;
+
+public record OutboxMessage(
+        OutboxChannel channel,
+        String destination,
+        String subject,
+        String payload
+) {
+
+    public static OutboxMessage mqtt(String deviceUniqueId, String topic, String payload) {
+        return new OutboxMessage(OutboxChannel.MQTT, deviceUniqueId, topic, payload);
+    }
+
+    public static OutboxMessage fcm(Long userId, String title, String body) {
+        return new OutboxMessage(OutboxChannel.FCM, String.valueOf(userId), title, body);
+    }
+
+    public static OutboxMessage s3Delete(String bucket, String objectKey) {
+        return new OutboxMessage(OutboxChannel.S3_DELETE, bucket, null, objectKey);
+    }
+}
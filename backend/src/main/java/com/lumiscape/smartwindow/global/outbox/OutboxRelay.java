@@ -0,0 +1,261 @@
+package com.lumiscape.smartwindow.global.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// 커밋 직후의 신호나 poll 주기마다 outbox 를 batch 로 가져가 채널별로 발행한다
+// 발행이 확인된 행만 지우므로 최소 한 번 전달되며, 실패하거나 도중에 죽으면 같은 메시지가 다시 나갈 수 있다
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final Map<OutboxChannel, OutboxHandler> handlers = new EnumMap<>(OutboxChannel.class);
+
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final long leaseMillis;
+    private final long deliveryTimeoutMillis;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+
+    private final Semaphore wakeups = new Semaphore(0);
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+
+    private final Map<OutboxChannel, Counter> deliveredCounters = new EnumMap<>(OutboxChannel.class);
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer lagTimer;
+
+    private volatile boolean running;
+    private Thread relayThread;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       List<OutboxHandler> handlers,
+                       @Value("${app.outbox.relay.poll-interval-ms:1000}") long pollIntervalMillis,
+                       @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.relay.lease:30s}") Duration lease,
+                       @Value("${app.outbox.relay.delivery-timeout:10s}") Duration deliveryTimeout,
+                       @Value("${app.outbox.relay.max-attempts:5}") int maxAttempts,
+                       @Value("${app.outbox.relay.initial-backoff:1s}") Duration initialBackoff,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.batchSize = batchSize;
+        this.leaseMillis = lease.toMillis();
+        this.deliveryTimeoutMillis = deliveryTimeout.toMillis();
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+
+        handlers.forEach(handler -> this.handlers.put(handler.channel(), handler));
+
+        for (OutboxChannel channel : OutboxChannel.values()) {
+            deliveredCounters.put(channel, meterRegistry.counter("outbox.relay.delivered", "channel", channel.name()));
+        }
+
+        this.retriedCounter = meterRegistry.counter("outbox.relay.retried");
+        this.failedCounter = meterRegistry.counter("outbox.relay.failed");
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        meterRegistry.gauge("outbox.relay.oldest.age", oldestAgeMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+
+        relayThread = new Thread(this::relayLoop, "outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+
+        // 남은 행은 DB 에 그대로 있으므로 다음 기동이나 다른 인스턴스가 이어서 보낸다
+        relayThread.interrupt();
+        relayThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public void wakeUp() {
+        wakeups.release();
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                boolean signalled = wakeups.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                wakeups.drainPermits();
+
+                drain();
+
+                // 다른 인스턴스가 기록했거나 재시도를 기다리는 행이 얼마나 밀려 있는지는 poll 주기마다 확인한다
+                if (!signalled) {
+                    oldestAgeMillis.set(outboxRepository.findOldestAgeMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("[ Outbox ] Relay loop FAILED", e);
+            }
+        }
+    }
+
+    private void drain() throws InterruptedException {
+        while (running) {
+            List<OutboxEvent> events = outboxRepository.claim(batchSize, leaseMillis);
+
+            if (events.isEmpty()) {
+                return;
+            }
+
+            relay(events);
+
+            if (events.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // 목적지마다 앞에서부터 한 건씩 묶어 차례로 보내고, 실패한 목적지의 뒤 이벤트는 보내지 않고 돌려놓는다
+    private void relay(List<OutboxEvent> events) throws InterruptedException {
+        Map<String, Deque<OutboxEvent>> byDestination = new LinkedHashMap<>();
+
+        for (OutboxEvent event : events) {
+            byDestination.computeIfAbsent(destinationKey(event), key -> new ArrayDeque<>()).add(event);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(leaseMillis / 2);
+        List<Long> completed = new ArrayList<>(events.size());
+        Map<Long, Long> retries = new LinkedHashMap<>();
+        List<Long> released = new ArrayList<>();
+
+        while (!byDestination.isEmpty()) {
+            // lease 가 끝나기 전에 남은 이벤트를 돌려놓아 다른 인스턴스와 겹쳐 보내지 않게 한다
+            if (System.nanoTime() - deadline >= 0) {
+                byDestination.values().forEach(pending -> pending.forEach(event -> released.add(event.id())));
+                break;
+            }
+
+            List<OutboxEvent> wave = new ArrayList<>(byDestination.size());
+            Iterator<Deque<OutboxEvent>> iterator = byDestination.values().iterator();
+
+            while (iterator.hasNext()) {
+                Deque<OutboxEvent> pending = iterator.next();
+                wave.add(pending.poll());
+
+                if (pending.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+
+            for (OutboxEvent failed : deliver(wave, completed, retries)) {
+                Deque<OutboxEvent> skipped = byDestination.remove(destinationKey(failed));
+
+                if (skipped != null) {
+                    skipped.forEach(event -> released.add(event.id()));
+                }
+            }
+        }
+
+        outboxRepository.deleteAll(completed);
+        outboxRepository.retryAfter(retries);
+        outboxRepository.releaseAll(released);
+    }
+
+    // 재시도로 돌린 이벤트를 돌려준다
+    private List<OutboxEvent> deliver(List<OutboxEvent> events, List<Long> completed, Map<Long, Long> retries)
+            throws InterruptedException {
+        Map<OutboxChannel, List<OutboxEvent>> byChannel = events.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::channel, () -> new EnumMap<>(OutboxChannel.class), Collectors.toList()));
+
+        List<OutboxEvent> sent = new ArrayList<>(events.size());
+        List<CompletableFuture<Void>> results = new ArrayList<>(events.size());
+
+        byChannel.forEach((channel, channelEvents) -> {
+            OutboxHandler handler = handlers.get(channel);
+
+            sent.addAll(channelEvents);
+
+            if (handler == null) {
+                channelEvents.forEach(event -> results.add(
+                        CompletableFuture.failedFuture(new IllegalStateException("No outbox handler : " + channel))));
+                return;
+            }
+
+            results.addAll(handler.deliver(channelEvents));
+        });
+
+        await(results);
+
+        long now = System.currentTimeMillis();
+        List<OutboxEvent> failed = new ArrayList<>();
+
+        for (int i = 0; i < sent.size(); i++) {
+            OutboxEvent event = sent.get(i);
+            CompletableFuture<Void> result = results.get(i);
+
+            if (result.isDone() && !result.isCompletedExceptionally()) {
+                completed.add(event.id());
+                deliveredCounters.get(event.channel()).increment();
+                lagTimer.record(Math.max(0, now - event.createdAt().toEpochMilli()), TimeUnit.MILLISECONDS);
+            } else if (event.attempts() >= maxAttempts) {
+                completed.add(event.id());
+                failedCounter.increment();
+                log.error("[ Outbox ] Give up after {} attempts, channel : {}, destination : {}, subject : {}",
+                        event.attempts(), event.channel(), event.destination(), event.subject());
+            } else {
+                retries.put(event.id(), initialBackoff.multipliedBy(1L << (event.attempts() - 1)).toMillis());
+                retriedCounter.increment();
+                failed.add(event);
+            }
+        }
+
+        return failed;
+    }
+
+    private void await(List<CompletableFuture<Void>> results) throws InterruptedException {
+        try {
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                    .get(deliveryTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // 성공 여부는 이벤트마다 다시 확인하고, 끝나지 않은 발행은 실패로 보고 재시도한다
+            log.warn("[ Outbox ] Some deliveries did not complete : {}", e.getMessage());
+        }
+    }
+
+    private static String destinationKey(OutboxEvent event) {
+        if (!event.channel().isOrdered()) {
+            return event.channel() + "#" + event.id();
+        }
+
+        return event.channel() + ":" + event.destination();
+    }
+}
@@ -0,0 +1,122 @@
+package com.lumiscape.smartwindow.global.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (channel, destination, subject, payload) "
+                    + "VALUES (CAST(? AS outbox_channel_enum), ?, ?, ?)";
+    private static final long CLAIM_LOCK_KEY = 0x4F5554424F58L;
+    private static final String CLAIM_LOCK_SQL = "SELECT pg_advisory_xact_lock(?)";
+    // 가져간 행은 lease 동안 다른 인스턴스가 건너뛰고, 발행하지 못한 채 죽으면 lease 가 끝난 뒤 다시 가져간다
+    // 같은 목적지의 앞선 행이 lease 중이거나 재시도를 기다리면 뒤의 행은 가져가지 않아 목적지별 id 순서를 지킨다
+    // 순서가 필요 없는 S3_DELETE (OutboxChannel.isOrdered) 는 제외한다
+    private static final String CLAIM_SQL =
+            "UPDATE outbox_events SET attempts = attempts + 1, "
+                    + "next_attempt_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond') "
+                    + "WHERE id IN (SELECT o.id FROM outbox_events o WHERE o.next_attempt_at <= CURRENT_TIMESTAMP "
+                    + "AND (o.channel = 'S3_DELETE' OR NOT EXISTS (SELECT 1 FROM outbox_events e WHERE e.channel = o.channel "
+                    + "AND e.destination = o.destination AND e.id < o.id AND e.next_attempt_at > CURRENT_TIMESTAMP)) "
+                    + "ORDER BY o.id LIMIT ? FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING id, channel, destination, subject, payload, attempts, created_at";
+    private static final String DELETE_SQL =
+            "DELETE FROM outbox_events WHERE id = ANY(?)";
+    private static final String RETRY_SQL =
+            "UPDATE outbox_events SET next_attempt_at = CURRENT_TIMESTAMP + (? * INTERVAL '1 millisecond') WHERE id = ?";
+    private static final String RELEASE_SQL =
+            "UPDATE outbox_events SET attempts = attempts - 1, next_attempt_at = CURRENT_TIMESTAMP WHERE id = ANY(?)";
+    private static final String OLDEST_AGE_SQL =
+            "SELECT COALESCE(EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - MIN(created_at))) * 1000, 0) FROM outbox_events";
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            OutboxChannel.valueOf(rs.getString("channel")),
+            rs.getString("destination"),
+            rs.getString("subject"),
+            rs.getString("payload"),
+            rs.getInt("attempts"),
+            rs.getTimestamp("created_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<OutboxMessage> messages) {
+        if (messages.size() == 1) {
+            OutboxMessage message = messages.get(0);
+            jdbcTemplate.update(INSERT_SQL, message.channel().name(), message.destination(), message.subject(), message.payload());
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setString(1, message.channel().name());
+            ps.setString(2, message.destination());
+            ps.setString(3, message.subject());
+            ps.setString(4, message.payload());
+        });
+    }
+
+    // 인스턴스들의 claim 을 한 줄로 세운다. 동시에 claim 하면 잠긴 앞선 행을 건너뛰고 뒤의 행을 가져갈 수 있다
+    @Transactional
+    public List<OutboxEvent> claim(int limit, long leaseMillis) {
+        jdbcTemplate.queryForList(CLAIM_LOCK_SQL, CLAIM_LOCK_KEY);
+
+        List<OutboxEvent> events = jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, leaseMillis, limit);
+
+        // UPDATE ... RETURNING 은 순서를 보장하지 않으므로 디바이스별 발행 순서를 위해 다시 정렬한다
+        return events.stream()
+                .sorted(Comparator.comparing(OutboxEvent::id))
+                .toList();
+    }
+
+    public void deleteAll(List<Long> ids) {
+        updateAll(DELETE_SQL, ids);
+    }
+
+    // 보내지 않고 돌려놓는 행은 시도 횟수를 되돌린다
+    public void releaseAll(List<Long> ids) {
+        updateAll(RELEASE_SQL, ids);
+    }
+
+    public void retryAfter(Map<Long, Long> backoffMillisById) {
+        if (backoffMillisById.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Long>> entries = List.copyOf(backoffMillisById.entrySet());
+
+        jdbcTemplate.batchUpdate(RETRY_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+    }
+
+    public long findOldestAgeMillis() {
+        Number age = jdbcTemplate.queryForObject(OLDEST_AGE_SQL, Number.class);
+
+        return age == null ? 0 : age.longValue();
+    }
+
+    private void updateAll(String sql, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+
+            return statement;
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package com.lumiscape.smartwindow.global.outbox;
+
+import com.lumiscape.smartwindow.global.infra.MqttPublishService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// 디바이스 명령, 알림, S3 객체 삭제를 호출한 트랜잭션 안에서 outbox 에 기록하고, 커밋된 뒤에 relay 를 깨운다
+// 롤백되면 기록도 함께 사라지므로 DB 에 반영되지 않은 명령이 디바이스로 나가지 않는다
+@Service
+public class OutboxService {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxRelay outboxRelay;
+    private final MqttPublishService mqttPublishService;
+
+    private final Counter appendedCounter;
+
+    public OutboxService(OutboxRepository outboxRepository,
+                         OutboxRelay outboxRelay,
+                         MqttPublishService mqttPublishService,
+                         MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.outboxRelay = outboxRelay;
+        this.mqttPublishService = mqttPublishService;
+
+        this.appendedCounter = meterRegistry.counter("outbox.appended");
+    }
+
+    public void publishCommand(String deviceUniqueId, String command, Object payload) {
+        append(List.of(OutboxMessage.mqtt(deviceUniqueId,
+                mqttPublishService.commandTopic(deviceUniqueId, command), mqttPublishService.serialize(payload))));
+    }
+
+    // 여러 디바이스에 같은 payload 를 보낼 때는 한 번 직렬화한 문자열을 그대로 쓰고 INSERT 는 batch 로 묶는다
+    public void publishSerialized(Map<String, String> topicsByDeviceUniqueId, String payload) {
+        List<OutboxMessage> messages = new ArrayList<>(topicsByDeviceUniqueId.size());
+
+        topicsByDeviceUniqueId.forEach((deviceUniqueId, topic) ->
+                messages.add(OutboxMessage.mqtt(deviceUniqueId, topic, payload)));
+
+        append(messages);
+    }
+
+    public void sendNotification(Long userId, String title, String body) {
+        append(List.of(OutboxMessage.fcm(userId, title, body)));
+    }
+
+    // 행이 지워진 트랜잭션이 커밋된 뒤에만 객체를 지우고, 실패한 키는 relay 가 다시 시도한다
+    public void deleteObjects(String bucket, List<String> objectKeys) {
+        append(objectKeys.stream()
+                .map(objectKey -> OutboxMessage.s3Delete(bucket, objectKey))
+                .toList());
+    }
+
+    public void append(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        outboxRepository.insertAll(messages);
+        appendedCounter.increment(messages.size());
+
+        afterCommit(outboxRelay::wakeUp);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+
+        action.run();
+    }
+}
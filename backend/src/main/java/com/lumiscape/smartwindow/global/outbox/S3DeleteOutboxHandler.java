@@ -0,0 +1,65 @@
+package com.lumiscape.smartwindow.global.outbox;
+
+import com.lumiscape.smartwindow.global.infra.S3Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+// relay 가 가져간 삭제 요청을 bucket 별로 모아 DeleteObjects 로 한꺼번에 지운다
+// S3 가 거절한 키만 실패로 돌려 다음 주기에 다시 시도하게 한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class S3DeleteOutboxHandler implements OutboxHandler {
+
+    private final S3Service s3Service;
+
+    @Override
+    public OutboxChannel channel() {
+        return OutboxChannel.S3_DELETE;
+    }
+
+    @Override
+    public List<CompletableFuture<Void>> deliver(List<OutboxEvent> events) {
+        Map<String, List<String>> keysByBucket = new LinkedHashMap<>();
+
+        events.forEach(event -> keysByBucket.computeIfAbsent(event.destination(), bucket -> new ArrayList<>())
+                .add(event.payload()));
+
+        Map<String, Set<String>> failedKeysByBucket = new LinkedHashMap<>();
+        Map<String, Exception> errorsByBucket = new HashMap<>();
+
+        keysByBucket.forEach((bucket, keys) -> {
+            try {
+                failedKeysByBucket.put(bucket, s3Service.deleteObjects(bucket, keys));
+            } catch (Exception e) {
+                log.error("[ Outbox ] S3 DeleteObjects FAILED, bucket : {}, keys : {}", bucket, keys.size(), e);
+                errorsByBucket.put(bucket, e);
+            }
+        });
+
+        List<CompletableFuture<Void>> results = new ArrayList<>(events.size());
+
+        for (OutboxEvent event : events) {
+            Exception error = errorsByBucket.get(event.destination());
+
+            if (error != null) {
+                results.add(CompletableFuture.failedFuture(error));
+            } else if (failedKeysByBucket.get(event.destination()).contains(event.payload())) {
+                results.add(CompletableFuture.failedFuture(new IllegalStateException("S3 object not deleted : " + event.payload())));
+            } else {
+                results.add(CompletableFuture.completedFuture(null));
+            }
+        }
+
+        return results;
+    }
+}
@@ -3,6 +3,7 @@ package com.lumiscape.smartwindow.media.controller;
 import com.lumiscape.smartwindow.global.common.ApiResponse;
 import com.lumiscape.smartwindow.global.exception.CustomException;
 import com.lumiscape.smartwindow.global.exception.ErrorCode;
+import com.lumiscape.smartwindow.media.domain.MediaOrigin;
 import com.lumiscape.smartwindow.media.dto.*;
 import com.lumiscape.smartwindow.media.service.MediaService;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,26 @@ public class MediaController {
         return ApiResponse.onSuccess(responses);
     }
 
+    @GetMapping(params = {"size", "grouped!=true"})
+    public ApiResponse<MediaPageResponse<MediaResponse>> getMyMediaPage(@AuthenticationPrincipal Long userId,
+                                                                        @RequestParam(value = "cursor", required = false) Long cursor,
+                                                                        @RequestParam("size") int size,
+                                                                        @RequestParam(value = "origin", required = false) MediaOrigin origin) {
+        MediaPageResponse<MediaResponse> response = mediaService.getMyMediaPage(userId, cursor, size, origin);
+
+        return ApiResponse.onSuccess(response);
+    }
+
+    // 묶음 조회는 항상 페이지 단위로 응답하며, size 가 없으면 기본 크기로 조회한다
+    @GetMapping(params = "grouped=true")
+    public ApiResponse<MediaPageResponse<MediaGroupResponse>> getMyMediaGroups(@AuthenticationPrincipal Long userId,
+                                                                               @RequestParam(value = "cursor", required = false) Long cursor,
+                                                                               @RequestParam(value = "size", defaultValue = "20") int size) {
+        MediaPageResponse<MediaGroupResponse> response = mediaService.getMyMediaGroups(userId, cursor, size);
+
+        return ApiResponse.onSuccess(response);
+    }
+
     @PostMapping("/upload-url")
     public ApiResponse<MediaUploadResponse> getUploadUrl(@AuthenticationPrincipal Long userId,
                                                          @RequestBody MediaUploadRequest request) {
@@ -0,0 +1,116 @@
+package com.lumiscape.smartwindow.media.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "ai_generation_jobs")
+public class AIGenerationJob {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "media_id", nullable = false)
+    private Long mediaId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "device_id")
+    private Long deviceId;
+
+    @Column(name = "source_key", nullable = false)
+    private String sourceKey;
+
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "generation_type", nullable = false, columnDefinition = "ai_generation_type_enum")
+    private AIGenerationType generationType;
+
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "status", nullable = false, columnDefinition = "ai_job_status_enum")
+    private AIJobStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+
+    @Builder
+    public AIGenerationJob(Long mediaId, Long userId, Long deviceId, String sourceKey, AIGenerationType generationType) {
+        this.mediaId = mediaId;
+        this.userId = userId;
+        this.deviceId = deviceId;
+        this.sourceKey = sourceKey;
+        this.generationType = generationType;
+        this.status = AIJobStatus.PENDING;
+        this.nextAttemptAt = OffsetDateTime.now();
+    }
+
+
+    public void start() {
+        this.status = AIJobStatus.RUNNING;
+        this.attempts++;
+        this.startedAt = OffsetDateTime.now();
+    }
+
+    // 실행기에 넘기지 못한 작업은 시도 횟수를 되돌리고 다음 할당을 기다린다
+    public void release() {
+        this.status = AIJobStatus.PENDING;
+        this.attempts--;
+        this.startedAt = null;
+    }
+
+    public void complete() {
+        this.status = AIJobStatus.DONE;
+        this.completedAt = OffsetDateTime.now();
+        this.lastError = null;
+    }
+
+    public void retryAt(OffsetDateTime nextAttemptAt, String error) {
+        this.status = AIJobStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    public void fail(String error) {
+        this.status = AIJobStatus.FAILED;
+        this.completedAt = OffsetDateTime.now();
+        this.lastError = truncate(error);
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
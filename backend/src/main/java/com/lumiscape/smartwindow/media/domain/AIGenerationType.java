@@ -0,0 +1,36 @@
+package com.lumiscape.smartwindow.media.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum AIGenerationType {
+    MUSIC("/api/v1/ai/recommend-music", "MUSIC"),
+    AI_RP("/api/v1/ai/remove-person", null),
+    AI_SUNSET("/api/v1/ai/scene-blend", "sunset"),
+    AI_DAWN("/api/v1/ai/scene-blend", "dawn"),
+    AI_AFTERNOON("/api/v1/ai/scene-blend", "afternoon"),
+    AI_NIGHT("/api/v1/ai/scene-blend", "night");
+
+    private final String endpoint;
+    private final String sceneType;
+
+    public static AIGenerationType from(MediaOrigin originType) {
+        for (AIGenerationType type : values()) {
+            if (type.name().equals(originType.name())) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+
+    public String getTask() {
+        return endpoint.substring(endpoint.lastIndexOf('/') + 1);
+    }
+
+    public boolean isMusic() {
+        return this == MUSIC;
+    }
+}
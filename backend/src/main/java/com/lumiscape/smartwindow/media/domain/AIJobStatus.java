@@ -0,0 +1,8 @@
+package com.lumiscape.smartwindow.media.domain;
+
+public enum AIJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
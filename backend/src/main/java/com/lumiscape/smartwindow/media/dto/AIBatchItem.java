@@ -0,0 +1,8 @@
+package com.lumiscape.smartwindow.media.dto;
+
+public record AIBatchItem(
+        String task,
+        String targetAIS3Key,
+        String sceneType
+) {
+}
@@ -0,0 +1,10 @@
+package com.lumiscape.smartwindow.media.dto;
+
+import java.util.List;
+
+public record AIBatchRequest(
+        Long mediaId,
+        String downloadUrl,
+        List<AIBatchItem> items
+) {
+}
@@ -0,0 +1,7 @@
+package com.lumiscape.smartwindow.media.dto;
+
+public record AIJobCount(
+        Long userId,
+        Long count
+) {
+}
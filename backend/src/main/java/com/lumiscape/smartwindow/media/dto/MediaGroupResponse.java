@@ -0,0 +1,9 @@
+package com.lumiscape.smartwindow.media.dto;
+
+import java.util.List;
+
+public record MediaGroupResponse(
+        MediaResponse original,
+        List<MediaResponse> aiMedia
+) {
+}
@@ -0,0 +1,10 @@
+package com.lumiscape.smartwindow.media.dto;
+
+import java.util.List;
+
+public record MediaPageResponse<T>(
+        List<T> items,
+        Long nextCursor,
+        boolean hasNext
+) {
+}
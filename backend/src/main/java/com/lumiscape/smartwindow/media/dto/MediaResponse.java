@@ -32,4 +32,19 @@ public record MediaResponse(
                 media.getCreatedAt()
         );
     }
+
+    public static MediaResponse from(MediaSummary summary, String downloadUrl) {
+        return new MediaResponse(
+                summary.mediaId(),
+                summary.fileName(),
+                downloadUrl,
+                summary.fileType(),
+                summary.originType(),
+                summary.parentMediaId(),
+                summary.fileSize(),
+                summary.musicId(),
+                summary.resolution(),
+                summary.createdAt()
+        );
+    }
 }
@@ -0,0 +1,20 @@
+package com.lumiscape.smartwindow.media.dto;
+
+import com.lumiscape.smartwindow.media.domain.MediaOrigin;
+import com.lumiscape.smartwindow.media.domain.MediaType;
+
+import java.time.OffsetDateTime;
+
+public record MediaSummary(
+        Long mediaId,
+        String fileName,
+        String fileUrl,
+        MediaType fileType,
+        MediaOrigin originType,
+        Long parentMediaId,
+        Long fileSize,
+        Long musicId,
+        String resolution,
+        OffsetDateTime createdAt
+) {
+}
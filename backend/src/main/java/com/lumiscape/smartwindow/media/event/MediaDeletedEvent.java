@@ -1,7 +1,11 @@
 package com.lumiscape.smartwindow.media.event;
 
+import java.util.List;
+
+// 삭제와 같은 트랜잭션에서 대체 미디어로 바뀐 디바이스들과, 보낼 대체 미디어의 object key
 public record MediaDeletedEvent(
-        Long userId,
-        Long mediaId
+        List<String> deviceUniqueIds,
+        Long replacementMediaId,
+        String replacementObjectKey
 ) {
-}
\ No newline at end of file
+}
@@ -1,8 +1,10 @@
 package com.lumiscape.smartwindow.media.event;
 
+// 리스너가 다시 조회하지 않도록 권한을 확인한 디바이스와 응답에 쓴 다운로드 URL 을 함께 싣는다
 public record MediaUploadEvent(
-        Long userId,
         Long deviceId,
-        Long mediaId
+        String deviceUniqueId,
+        Long mediaId,
+        String mediaUrl
 ) {
-}
\ No newline at end of file
+}
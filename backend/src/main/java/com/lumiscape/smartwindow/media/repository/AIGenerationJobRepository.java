@@ -0,0 +1,37 @@
+package com.lumiscape.smartwindow.media.repository;
+
+import com.lumiscape.smartwindow.media.domain.AIGenerationJob;
+import com.lumiscape.smartwindow.media.domain.AIGenerationType;
+import com.lumiscape.smartwindow.media.domain.AIJobStatus;
+import com.lumiscape.smartwindow.media.dto.AIJobCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AIGenerationJobRepository extends JpaRepository<AIGenerationJob, Long> {
+
+    Optional<AIGenerationJob> findByMediaIdAndGenerationType(Long mediaId, AIGenerationType generationType);
+
+    @Query("SELECT new com.lumiscape.smartwindow.media.dto.AIJobCount(j.userId, COUNT(j)) " +
+            "FROM AIGenerationJob j WHERE j.status = :status GROUP BY j.userId")
+    List<AIJobCount> countByStatusGroupByUser(@Param("status") AIJobStatus status);
+
+    // 여러 인스턴스가 동시에 폴링해도 같은 작업을 두 번 가져가지 않도록 잠긴 행은 건너뛴다
+    @Query(value = "SELECT * FROM ai_generation_jobs " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= CURRENT_TIMESTAMP " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<AIGenerationJob> findClaimable(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM ai_generation_jobs " +
+            "WHERE status = 'RUNNING' AND started_at < :startedBefore " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<AIGenerationJob> findStale(@Param("startedBefore") OffsetDateTime startedBefore,
+                                    @Param("limit") int limit);
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+}
@@ -0,0 +1,23 @@
+package com.lumiscape.smartwindow.media.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 원본과 그 AI 이미지를 엔티티로 읽지 않고 DELETE 한 번으로 지운다
+@Repository
+@RequiredArgsConstructor
+public class MediaCommandRepository {
+
+    // parent_media_id 의 ON DELETE CASCADE 로 지워지는 행은 RETURNING 에 나오지 않으므로 자식도 조건에 직접 넣는다
+    private static final String DELETE_WITH_CHILDREN_SQL =
+            "DELETE FROM media WHERE id = ? OR parent_media_id = ? RETURNING file_url";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<String> deleteWithChildren(Long mediaId) {
+        return jdbcTemplate.queryForList(DELETE_WITH_CHILDREN_SQL, String.class, mediaId, mediaId);
+    }
+}
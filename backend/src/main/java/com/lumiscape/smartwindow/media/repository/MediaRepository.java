@@ -1,18 +1,43 @@
 package com.lumiscape.smartwindow.media.repository;
 
 import com.lumiscape.smartwindow.media.domain.Media;
+import com.lumiscape.smartwindow.media.domain.MediaOrigin;
+import com.lumiscape.smartwindow.media.dto.MediaSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MediaRepository extends JpaRepository<Media, Long> {
 
+    String SUMMARY_SELECT = "SELECT new com.lumiscape.smartwindow.media.dto.MediaSummary(" +
+            "m.id, m.fileName, m.fileUrl, m.fileType, m.originType, p.id, m.fileSize, mu.id, m.resolution, m.createdAt) " +
+            "FROM Media m LEFT JOIN m.parentMedia p LEFT JOIN m.music mu ";
+
     List<Media> findAllByUserId(Long userId);
 
     Optional<Media> findByIdAndUserId(Long mediaId, Long userId);
 
     boolean existsByFileUrl(String s3ObjectKey);
 
-    List<Media> findAllByParentMediaId(Long parentMediaId);
+    @Query(SUMMARY_SELECT + "WHERE m.user.id = :userId ORDER BY m.id DESC")
+    List<MediaSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(SUMMARY_SELECT + "WHERE m.user.id = :userId AND m.id < :cursor ORDER BY m.id DESC")
+    List<MediaSummary> findSummaryPage(@Param("userId") Long userId,
+                                       @Param("cursor") Long cursor,
+                                       Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE m.user.id = :userId AND m.originType = :originType AND m.id < :cursor ORDER BY m.id DESC")
+    List<MediaSummary> findSummaryPageByOrigin(@Param("userId") Long userId,
+                                               @Param("originType") MediaOrigin originType,
+                                               @Param("cursor") Long cursor,
+                                               Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :parentIds ORDER BY m.id")
+    List<MediaSummary> findSummariesByParentIds(@Param("parentIds") Collection<Long> parentIds);
 }
@@ -0,0 +1,199 @@
+package com.lumiscape.smartwindow.media.service;
+
+import com.lumiscape.smartwindow.media.domain.AIGenerationJob;
+import com.lumiscape.smartwindow.media.domain.AIGenerationType;
+import com.lumiscape.smartwindow.media.domain.AIJobStatus;
+import com.lumiscape.smartwindow.media.domain.Media;
+import com.lumiscape.smartwindow.media.dto.AIJobCount;
+import com.lumiscape.smartwindow.media.repository.AIGenerationJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class AIJobService {
+
+    private static final long CLAIM_LOCK_KEY = 0x41494A4F42L;
+
+    private final AIGenerationJobRepository aiGenerationJobRepository;
+
+    private final int maxConcurrent;
+    private final int maxPerUser;
+    private final int unbatchedMaxConcurrent;
+    private final int unbatchedMaxPerUser;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration callbackTimeout;
+
+    private final AtomicLong running = new AtomicLong();
+    private final Counter enqueuedCounter;
+    private final Counter completedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer turnaroundTimer;
+
+    public AIJobService(AIGenerationJobRepository aiGenerationJobRepository,
+                        @Value("${app.ai.dispatch.max-concurrent:12}") int maxConcurrent,
+                        @Value("${app.ai.dispatch.max-per-user:6}") int maxPerUser,
+                        @Value("${app.ai.dispatch.unbatched.max-concurrent:4}") int unbatchedMaxConcurrent,
+                        @Value("${app.ai.dispatch.unbatched.max-per-user:2}") int unbatchedMaxPerUser,
+                        @Value("${app.ai.dispatch.batch-size:20}") int batchSize,
+                        @Value("${app.ai.dispatch.max-attempts:3}") int maxAttempts,
+                        @Value("${app.ai.dispatch.initial-backoff:10s}") Duration initialBackoff,
+                        @Value("${app.ai.dispatch.callback-timeout:10m}") Duration callbackTimeout,
+                        MeterRegistry meterRegistry) {
+        this.aiGenerationJobRepository = aiGenerationJobRepository;
+        this.maxConcurrent = maxConcurrent;
+        this.maxPerUser = maxPerUser;
+        this.unbatchedMaxConcurrent = unbatchedMaxConcurrent;
+        this.unbatchedMaxPerUser = unbatchedMaxPerUser;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.callbackTimeout = callbackTimeout;
+
+        this.enqueuedCounter = meterRegistry.counter("ai.job.enqueued");
+        this.completedCounter = meterRegistry.counter("ai.job.completed");
+        this.retriedCounter = meterRegistry.counter("ai.job.retried");
+        this.failedCounter = meterRegistry.counter("ai.job.failed");
+        this.turnaroundTimer = meterRegistry.timer("ai.job.turnaround");
+
+        meterRegistry.gauge("ai.job.running", running);
+    }
+
+    @Transactional
+    public void enqueue(Media originMedia, Long deviceId) {
+        List<AIGenerationJob> jobs = Arrays.stream(AIGenerationType.values())
+                // 음악 추천 결과는 디바이스로 바로 전달되므로 디바이스 없이는 요청하지 않는다
+                .filter(type -> !type.isMusic() || deviceId != null)
+                .map(type -> AIGenerationJob.builder()
+                        .mediaId(originMedia.getId())
+                        .userId(originMedia.getUser().getId())
+                        .deviceId(deviceId)
+                        .sourceKey(originMedia.getFileUrl())
+                        .generationType(type)
+                        .build())
+                .toList();
+
+        aiGenerationJobRepository.saveAll(jobs);
+        enqueuedCounter.increment(jobs.size());
+    }
+
+    // 일괄 요청이면 한 업로드의 작업이 요청 하나로 묶이지만, 개별 요청이면 작업 하나가 요청 하나이므로 더 낮은 한도를 쓴다
+    @Transactional
+    public List<AIGenerationJob> claim(boolean batched) {
+        int concurrentLimit = batched ? maxConcurrent : unbatchedMaxConcurrent;
+        int perUserLimit = batched ? maxPerUser : unbatchedMaxPerUser;
+
+        // 전체 동시 실행 수를 인스턴스 사이에서도 지키기 위해 한 번에 한 인스턴스만 할당한다
+        if (!aiGenerationJobRepository.tryAdvisoryLock(CLAIM_LOCK_KEY)) {
+            return List.of();
+        }
+
+        Map<Long, Long> runningByUser = aiGenerationJobRepository.countByStatusGroupByUser(AIJobStatus.RUNNING).stream()
+                .collect(Collectors.toMap(AIJobCount::userId, AIJobCount::count));
+        long runningTotal = runningByUser.values().stream().mapToLong(Long::longValue).sum();
+
+        running.set(runningTotal);
+
+        long available = concurrentLimit - runningTotal;
+        if (available <= 0) {
+            return List.of();
+        }
+
+        List<AIGenerationJob> claimed = new ArrayList<>();
+
+        for (AIGenerationJob job : aiGenerationJobRepository.findClaimable(batchSize)) {
+            if (claimed.size() >= available) {
+                break;
+            }
+
+            if (runningByUser.getOrDefault(job.getUserId(), 0L) >= perUserLimit) {
+                continue;
+            }
+
+            job.start();
+            runningByUser.merge(job.getUserId(), 1L, Long::sum);
+            claimed.add(job);
+        }
+
+        running.addAndGet(claimed.size());
+
+        return claimed;
+    }
+
+    @Transactional
+    public void recordFailure(Long jobId, String error) {
+        aiGenerationJobRepository.findById(jobId)
+                .filter(job -> job.getStatus() == AIJobStatus.RUNNING)
+                .ifPresent(job -> retryOrFail(job, error));
+    }
+
+    @Transactional
+    public void release(List<Long> jobIds) {
+        List<AIGenerationJob> jobs = aiGenerationJobRepository.findAllById(jobIds).stream()
+                .filter(job -> job.getStatus() == AIJobStatus.RUNNING)
+                .toList();
+
+        jobs.forEach(AIGenerationJob::release);
+        running.addAndGet(-jobs.size());
+    }
+
+    @Transactional
+    public void complete(Long mediaId, AIGenerationType generationType) {
+        if (mediaId == null || generationType == null) {
+            return;
+        }
+
+        aiGenerationJobRepository.findByMediaIdAndGenerationType(mediaId, generationType)
+                .filter(job -> job.getStatus() != AIJobStatus.DONE)
+                .ifPresent(job -> {
+                    job.complete();
+
+                    completedCounter.increment();
+                    turnaroundTimer.record(Duration.between(job.getCreatedAt(), job.getCompletedAt()));
+                });
+    }
+
+    // 콜백이 오지 않은 작업은 실패로 보고 재시도한다
+    @Scheduled(fixedDelayString = "${app.ai.dispatch.stale-check-interval-ms:60000}")
+    @Transactional
+    public void recoverStaleJobs() {
+        OffsetDateTime startedBefore = OffsetDateTime.now().minus(callbackTimeout);
+
+        aiGenerationJobRepository.findStale(startedBefore, batchSize)
+                .forEach(job -> retryOrFail(job, "Callback timeout"));
+    }
+
+    private void retryOrFail(AIGenerationJob job, String error) {
+        if (job.getAttempts() >= maxAttempts) {
+            job.fail(error);
+            failedCounter.increment();
+
+            log.error("[ AI ] 작업 실패. Media ID: {}, Type: {}, Attempts: {}", job.getMediaId(), job.getGenerationType(), job.getAttempts());
+            return;
+        }
+
+        Duration backoff = initialBackoff.multipliedBy(1L << (job.getAttempts() - 1));
+        job.retryAt(OffsetDateTime.now().plus(backoff), error);
+        retriedCounter.increment();
+
+        log.warn("[ AI ] 작업 재시도 예약. Media ID: {}, Type: {}, Backoff: {}", job.getMediaId(), job.getGenerationType(), backoff);
+    }
+}
@@ -1,95 +1,231 @@
 package com.lumiscape.smartwindow.media.service;
 
+import com.lumiscape.smartwindow.config.async.AsyncConfig;
 import com.lumiscape.smartwindow.global.infra.S3Service;
 import com.lumiscape.smartwindow.global.util.FileNameUtils;
+import com.lumiscape.smartwindow.media.domain.AIGenerationJob;
+import com.lumiscape.smartwindow.media.domain.AIGenerationType;
 import com.lumiscape.smartwindow.media.domain.Media;
-import com.lumiscape.smartwindow.media.domain.MediaOrigin;
+import com.lumiscape.smartwindow.media.dto.AIBatchItem;
+import com.lumiscape.smartwindow.media.dto.AIBatchRequest;
 import com.lumiscape.smartwindow.media.dto.AIRequest;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AIService {
 
+    private static final String BATCH_ENDPOINT = "/api/v1/ai/batch";
+
     private final WebClient aiWebClient;
     private final S3Service s3Service;
+    private final AIJobService aiJobService;
+    private final Executor aiTaskExecutor;
+
+    private final String aiServerUrl;
+    private final Duration requestTimeout;
+    private final boolean batchEnabled;
+    private final Duration batchReprobeInterval;
+
+    private final Counter dispatchedCounter;
+    private final Counter batchCounter;
+    private final Counter batchFallbackCounter;
+    private final Timer requestTimer;
+
+    private volatile long batchUnsupportedUntil;
+
+    public AIService(WebClient aiWebClient,
+                     S3Service s3Service,
+                     AIJobService aiJobService,
+                     @Qualifier(AsyncConfig.AI_TASK_EXECUTOR) Executor aiTaskExecutor,
+                     @Value("${app.ai.server-url}") String aiServerUrl,
+                     @Value("${app.ai.dispatch.request-timeout:10s}") Duration requestTimeout,
+                     @Value("${app.ai.batch.enabled:true}") boolean batchEnabled,
+                     @Value("${app.ai.batch.reprobe-interval:10m}") Duration batchReprobeInterval,
+                     MeterRegistry meterRegistry) {
+        this.aiWebClient = aiWebClient;
+        this.s3Service = s3Service;
+        this.aiJobService = aiJobService;
+        this.aiTaskExecutor = aiTaskExecutor;
+        this.aiServerUrl = aiServerUrl;
+        this.requestTimeout = requestTimeout;
+        this.batchEnabled = batchEnabled;
+        this.batchReprobeInterval = batchReprobeInterval;
+        this.batchUnsupportedUntil = System.nanoTime();
+
+        this.dispatchedCounter = meterRegistry.counter("ai.job.dispatched");
+        this.batchCounter = meterRegistry.counter("ai.job.batch");
+        this.batchFallbackCounter = meterRegistry.counter("ai.job.batch.fallback");
+        this.requestTimer = meterRegistry.timer("ai.job.request");
+    }
 
-    @Value("${app.ai.server-url}")
-    private String aiServerUrl;
-
-    @Async("taskExecutor")
+    // 업로드 트랜잭션 안에서 작업만 기록하고, 실제 요청은 dispatcher 가 동시 실행 한도에 맞춰 보낸다
     public void requestAIGeneration(Media originMedia, Long deviceId) {
-        String presignedDownloadUrl = s3Service.generatePresignedUrlForDownload(originMedia.getFileUrl());
+        aiJobService.enqueue(originMedia, deviceId);
+    }
 
-        // TODO improve music part
-        callAiServer(originMedia.getId(), "/api/v1/ai/recommend-music",
-                new AIRequest(originMedia.getId(), presignedDownloadUrl, deviceId.toString(), "MUSIC"));
-
-        List<MediaOrigin> aiTypesToGenerate = List.of(
-                MediaOrigin.AI_RP,
-                MediaOrigin.AI_SUNSET,
-                MediaOrigin.AI_DAWN,
-                MediaOrigin.AI_AFTERNOON,
-                MediaOrigin.AI_NIGHT
-        );
-
-        aiTypesToGenerate.forEach(aiType -> {
-            String suffix = "_AI_" + aiType.name().replace("AI_", "");
-            String targetAiS3Key = FileNameUtils.addSuffixBeforeExtension(originMedia.getFileUrl(), suffix);
-            String endpoint;
-            AIRequest aiRequest;
-
-            switch (aiType) {
-                case AI_RP:
-                    endpoint = "/api/v1/ai/remove-person";
-                    aiRequest = new AIRequest(originMedia.getId(), presignedDownloadUrl, targetAiS3Key, null);
-                    break;
-
-                case AI_SUNSET:
-                case AI_DAWN:
-                case AI_AFTERNOON:
-                case AI_NIGHT:
-                    endpoint = "/api/v1/ai/scene-blend";
-                    String sceneType = aiType.name().replace("AI_", "").toLowerCase();
-                    aiRequest = new AIRequest(originMedia.getId(), presignedDownloadUrl, targetAiS3Key, sceneType);
-                    break;
-
-                default:
-                    log.warn("[ AI ] 지원하지 않는 AI 생성 타입입니다. Type: {}", aiType);
-                    return;
+    @Scheduled(fixedDelayString = "${app.ai.dispatch.poll-interval-ms:1000}")
+    public void dispatchPendingJobs() {
+        boolean batched = isBatchAvailable();
+        List<AIGenerationJob> jobs = aiJobService.claim(batched);
+
+        if (!batched) {
+            jobs.forEach(job -> submit(List.of(job), () -> callAiServer(job)));
+            return;
+        }
+
+        // 같은 원본의 이미지 작업은 한 번의 요청으로 묶어 AI 서버가 이미지를 한 번만 내려받게 한다
+        Map<Long, List<AIGenerationJob>> imageJobsByMedia = new LinkedHashMap<>();
+
+        for (AIGenerationJob job : jobs) {
+            if (job.getGenerationType().isMusic()) {
+                submit(List.of(job), () -> callAiServer(job));
+            } else {
+                imageJobsByMedia.computeIfAbsent(job.getMediaId(), key -> new ArrayList<>()).add(job);
+            }
+        }
+
+        for (List<AIGenerationJob> group : imageJobsByMedia.values()) {
+            if (group.size() > 1) {
+                submit(group, () -> callAiServerBatch(group));
+            } else {
+                submit(group, () -> callAiServer(group.get(0)));
             }
+        }
+    }
+
+    private void submit(List<AIGenerationJob> jobs, Runnable call) {
+        try {
+            aiTaskExecutor.execute(call);
+            dispatchedCounter.increment(jobs.size());
+        } catch (RejectedExecutionException e) {
+            // 실행기가 가득 찬 것은 작업의 실패가 아니므로 시도 횟수를 쓰지 않고 다음 주기에 다시 할당한다
+            log.warn("[ AI ] 실행기가 가득 차 작업을 되돌립니다. Count: {}", jobs.size());
+
+            aiJobService.release(jobs.stream().map(AIGenerationJob::getId).toList());
+        }
+    }
+
+    private void callAiServer(AIGenerationJob job) {
+        AIGenerationType type = job.getGenerationType();
+        long start = System.nanoTime();
+
+        try {
+            String presignedDownloadUrl = s3Service.generatePresignedUrlForDownload(job.getSourceKey());
+            AIRequest aiRequest = toRequest(job, presignedDownloadUrl);
+
+            log.info("[ AI ] 서버에 이미지 생성을 요청합니다. Media ID: {}, Type: {}, Attempt: {}", job.getMediaId(), type, job.getAttempts());
+
+            post(type.getEndpoint(), aiRequest);
 
-            callAiServer(originMedia.getId(), endpoint, aiRequest);
-        });
+            log.info("[ AI ] 서버에 성공적으로 요청했습니다. Media ID: {}, Type: {}", job.getMediaId(), type);
+        } catch (Exception e) {
+            log.error("[ AI ] 서버 요청 실패. Media ID: {}, Type: {}", job.getMediaId(), type, e);
+
+            aiJobService.recordFailure(job.getId(), e.getMessage());
+        } finally {
+            requestTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
-    private void callAiServer(Long mediaId, String endpoint, AIRequest aiRequest) {
+    private void callAiServerBatch(List<AIGenerationJob> jobs) {
+        AIGenerationJob first = jobs.get(0);
+        long start = System.nanoTime();
+
         try {
-            log.info("[ AI ] 서버에 이미지 생성을 요청합니다. Media ID: {}, Type: {}", mediaId, aiRequest.sceneType());
-
-            aiWebClient.post()
-                    .uri(aiServerUrl + endpoint)
-                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .bodyValue(aiRequest)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .subscribe(
-                            response -> log.info("[ AI ] 서버에 성공적으로 요청했습니다. Media ID: {}, Type: {}", mediaId, aiRequest.sceneType()),
-                            error -> log.error("[ AI ] 서버 요청 실패. Media ID: {}, Type: {}", mediaId, aiRequest.sceneType(), error)
-                    );
+            String presignedDownloadUrl = s3Service.generatePresignedUrlForDownload(first.getSourceKey());
+            List<AIBatchItem> items = jobs.stream()
+                    .map(job -> {
+                        AIRequest aiRequest = toRequest(job, presignedDownloadUrl);
+                        return new AIBatchItem(job.getGenerationType().getTask(), aiRequest.targetAIS3Key(), aiRequest.sceneType());
+                    })
+                    .toList();
+
+            log.info("[ AI ] 서버에 이미지 생성을 일괄 요청합니다. Media ID: {}, Count: {}", first.getMediaId(), items.size());
+
+            post(BATCH_ENDPOINT, new AIBatchRequest(first.getMediaId(), presignedDownloadUrl, items));
+            batchCounter.increment();
+
+            log.info("[ AI ] 서버에 성공적으로 일괄 요청했습니다. Media ID: {}", first.getMediaId());
+        } catch (WebClientResponseException e) {
+            if (!isBatchUnsupported(e)) {
+                recordBatchFailure(jobs, e);
+                return;
+            }
+
+            // 일괄 요청을 지원하지 않는 서버는 한동안 개별 요청으로 보낸다
+            batchUnsupportedUntil = System.nanoTime() + batchReprobeInterval.toNanos();
+            batchFallbackCounter.increment();
 
+            log.warn("[ AI ] 서버가 일괄 요청을 지원하지 않아 개별 요청으로 전환합니다. Status: {}", e.getStatusCode());
+
+            // 일괄 한도로 할당된 작업을 한꺼번에 개별 요청하지 않고, 개별 요청 한도로 다시 할당되도록 되돌린다
+            aiJobService.release(jobs.stream().map(AIGenerationJob::getId).toList());
         } catch (Exception e) {
-            log.error("[ AI ] 서버 요청 실패. Media ID: {}, Type: {}", mediaId, aiRequest.sceneType(), e);
+            recordBatchFailure(jobs, e);
+        } finally {
+            requestTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void post(String endpoint, Object body) {
+        aiWebClient.post()
+                .uri(aiServerUrl + endpoint)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(requestTimeout)
+                .block();
+    }
+
+    private void recordBatchFailure(List<AIGenerationJob> jobs, Exception e) {
+        log.error("[ AI ] 서버 일괄 요청 실패. Media ID: {}", jobs.get(0).getMediaId(), e);
+
+        jobs.forEach(job -> aiJobService.recordFailure(job.getId(), e.getMessage()));
+    }
+
+    private boolean isBatchAvailable() {
+        return batchEnabled && System.nanoTime() - batchUnsupportedUntil >= 0;
+    }
+
+    private boolean isBatchUnsupported(WebClientResponseException e) {
+        int status = e.getStatusCode().value();
+
+        return status == 404 || status == 405 || status == 501;
+    }
+
+    private AIRequest toRequest(AIGenerationJob job, String presignedDownloadUrl) {
+        AIGenerationType type = job.getGenerationType();
+
+        // TODO improve music part
+        if (type.isMusic()) {
+            return new AIRequest(job.getMediaId(), presignedDownloadUrl, job.getDeviceId().toString(), type.getSceneType());
         }
+
+        String suffix = "_AI_" + type.name().replace("AI_", "");
+        String targetAiS3Key = FileNameUtils.addSuffixBeforeExtension(job.getSourceKey(), suffix);
+
+        return new AIRequest(job.getMediaId(), presignedDownloadUrl, targetAiS3Key, type.getSceneType());
     }
-}
\ No newline at end of file
+}
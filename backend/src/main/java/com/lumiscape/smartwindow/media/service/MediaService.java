@@ -1,15 +1,19 @@
 package com.lumiscape.smartwindow.media.service;
 
+import com.lumiscape.smartwindow.device.dto.DeviceIdentity;
+import com.lumiscape.smartwindow.device.service.DeviceService;
 import com.lumiscape.smartwindow.global.exception.CustomException;
 import com.lumiscape.smartwindow.global.exception.ErrorCode;
 import com.lumiscape.smartwindow.global.infra.S3Service;
-import com.lumiscape.smartwindow.fcm.service.FcmNotificationService;
+import com.lumiscape.smartwindow.global.outbox.OutboxService;
 import com.lumiscape.smartwindow.global.util.FileNameUtils;
+import com.lumiscape.smartwindow.media.domain.AIGenerationType;
 import com.lumiscape.smartwindow.media.domain.Media;
 import com.lumiscape.smartwindow.media.domain.MediaOrigin;
 import com.lumiscape.smartwindow.media.dto.*;
 import com.lumiscape.smartwindow.media.event.MediaDeletedEvent;
 import com.lumiscape.smartwindow.media.event.MediaUploadEvent;
+import com.lumiscape.smartwindow.media.repository.MediaCommandRepository;
 import com.lumiscape.smartwindow.media.repository.MediaRepository;
 import com.lumiscape.smartwindow.user.domain.entity.User;
 
@@ -18,10 +22,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,10 +39,13 @@ import java.util.stream.Collectors;
 public class MediaService {
 
     private final MediaRepository mediaRepository;
+    private final MediaCommandRepository mediaCommandRepository;
     private final UserService userService;
     private final S3Service s3Service;
-    private final FcmNotificationService fcmNotificationService;
+    private final OutboxService outboxService;
     private final AIService aiService;
+    private final AIJobService aiJobService;
+    private final DeviceService deviceService;
 
     private final ApplicationEventPublisher eventPublisher;
 
@@ -45,14 +55,47 @@ public class MediaService {
     @Value("${app.ai.server-url}")
     private String aiServerUrl;
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     public List<MediaResponse> getMyMedia(Long userId) {
-        List<Media> mediaList = mediaRepository.findAllByUserId(userId);
+        List<MediaSummary> mediaList = mediaRepository.findSummariesByUserId(userId);
 
         return mediaList.stream()
                 .map(this::mapToMediaResponse)
                 .collect(Collectors.toList());
     }
 
+    public MediaPageResponse<MediaResponse> getMyMediaPage(Long userId, Long cursor, int size, MediaOrigin originType) {
+        List<MediaSummary> rows = findSummaryPage(userId, cursor, size, originType);
+        boolean hasNext = rows.size() > size;
+        List<MediaSummary> page = hasNext ? rows.subList(0, size) : rows;
+
+        List<MediaResponse> items = page.stream()
+                .map(this::mapToMediaResponse)
+                .toList();
+
+        return new MediaPageResponse<>(items, nextCursor(page, hasNext), hasNext);
+    }
+
+    public MediaPageResponse<MediaGroupResponse> getMyMediaGroups(Long userId, Long cursor, int size) {
+        List<MediaSummary> rows = findSummaryPage(userId, cursor, size, MediaOrigin.ORIGINAL);
+        boolean hasNext = rows.size() > size;
+        List<MediaSummary> originals = hasNext ? rows.subList(0, size) : rows;
+
+        Map<Long, List<MediaResponse>> childrenByParent = originals.isEmpty()
+                ? Map.of()
+                : mediaRepository.findSummariesByParentIds(originals.stream().map(MediaSummary::mediaId).toList()).stream()
+                        .collect(Collectors.groupingBy(MediaSummary::parentMediaId,
+                                Collectors.mapping((MediaSummary child) -> mapToMediaResponse(child), Collectors.toList())));
+
+        List<MediaGroupResponse> items = originals.stream()
+                .map(original -> new MediaGroupResponse(mapToMediaResponse(original),
+                        childrenByParent.getOrDefault(original.mediaId(), List.of())))
+                .toList();
+
+        return new MediaPageResponse<>(items, nextCursor(originals, hasNext), hasNext);
+    }
+
     public MediaUploadResponse getUploadUrl(Long userId, MediaUploadRequest request) {
         String s3ObjectKey = createS3ObjectKey(request.fileName());
         String uploadUrl = s3Service.generatePresignedUrlForUpload(s3ObjectKey);
@@ -75,6 +118,10 @@ public class MediaService {
             throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR);
         }
 
+        // 디바이스 권한과 식별자는 캐시에서 미리 확인해 두고, 반영은 커밋 후 리스너가 한다
+        DeviceIdentity device = request.deviceId() == null
+                ? null : deviceService.findAccessibleIdentity(request.deviceId(), userId);
+
         User userReference = userService.getUserReference(userId);
 
         Media media = Media.builder()
@@ -92,13 +139,18 @@ public class MediaService {
         // TODO remove deviceId
         aiService.requestAIGeneration(savedMedia, request.deviceId());
 
-        eventPublisher.publishEvent(new MediaUploadEvent(
-                userId,
-                request.deviceId(),
-                savedMedia.getId()
-        ));
+        MediaResponse response = mapToMediaResponse(savedMedia);
 
-        return mapToMediaResponse(savedMedia);
+        if (device != null) {
+            eventPublisher.publishEvent(new MediaUploadEvent(
+                    device.deviceId(),
+                    device.deviceUniqueId(),
+                    savedMedia.getId(),
+                    response.downloadUrl()
+            ));
+        }
+
+        return response;
     }
 
     public MediaResponse getMediaDetail(Long userId, Long mediaId) {
@@ -120,19 +172,22 @@ public class MediaService {
     public void deleteMedia(Long userId, Long mediaId) {
         Media mediaToDelete = findMediaByUser(mediaId, userId);
 
-        eventPublisher.publishEvent(new MediaDeletedEvent(userId, mediaId));
+        Media replacementMedia = mediaToDelete.getOriginType() != MediaOrigin.ORIGINAL
+                ? mediaToDelete.getParentMedia() : null;
+        Long replacementMediaId = replacementMedia == null ? null : replacementMedia.getId();
 
-        if (mediaToDelete.getOriginType() == MediaOrigin.ORIGINAL) {
-            List<Media> childrenMedia = mediaRepository.findAllByParentMediaId(mediaId);
+        // 원본을 지우면 AI 이미지를 보여 주던 디바이스도 함께 비운다
+        // devices.media_id 는 ON DELETE SET NULL 이므로 삭제보다 먼저 바꿔야 대상 디바이스를 알 수 있다
+        List<String> affectedDevices = deviceService.replaceMedia(mediaId, replacementMediaId);
 
-            for (Media child : childrenMedia) {
-                mediaRepository.delete(child);
-                s3Service.deleteObject(child.getFileUrl());
-            }
-        }
+        List<String> deletedObjectKeys = mediaCommandRepository.deleteWithChildren(mediaId);
+
+        outboxService.deleteObjects(s3Service.getBucket(), deletedObjectKeys);
 
-        mediaRepository.delete(mediaToDelete);
-        s3Service.deleteObject(mediaToDelete.getFileUrl());
+        if (!affectedDevices.isEmpty()) {
+            eventPublisher.publishEvent(new MediaDeletedEvent(affectedDevices, replacementMediaId,
+                    replacementMedia == null ? null : replacementMedia.getFileUrl()));
+        }
     }
 
     @Transactional
@@ -154,6 +209,13 @@ public class MediaService {
             return;
         }
 
+        // 재시도로 같은 결과가 두 번 도착할 수 있다
+        if (mediaRepository.existsByFileUrl(request.s3ObjectKey())) {
+            log.warn("[ AI ] 이미 저장된 AI 이미지입니다. Key: {}", request.s3ObjectKey());
+            aiJobService.complete(parentMedia.getId(), AIGenerationType.from(originType));
+            return;
+        }
+
         String aiFileName = FileNameUtils.addSuffixBeforeExtension(parentMedia.getFileName(), "(" + type + ")");
 
         Media aiMedia = Media.builder()
@@ -170,8 +232,10 @@ public class MediaService {
         mediaRepository.save(aiMedia);
         log.info("[ AI ] Gen AI image save. FileName : {}, Type : {}", aiFileName, type);
 
+        aiJobService.complete(parentMedia.getId(), AIGenerationType.from(originType));
+
         // TODO FCM Push
-        fcmNotificationService.sendNotification(parentMedia.getUser().getId(), " New AI ", " " + parentMedia.getFileName() + " 의 " + type + " 감성을 살린 AI 이미지가 생성되었습니다.");
+        outboxService.sendNotification(parentMedia.getUser().getId(), " New AI ", " " + parentMedia.getFileName() + " 의 " + type + " 감성을 살린 AI 이미지가 생성되었습니다.");
     }
 
     public Media findMediaByUser(Long mediaId, Long userId) {
@@ -185,6 +249,29 @@ public class MediaService {
         return MediaResponse.from(media, downloadUrl);
     }
 
+    private MediaResponse mapToMediaResponse(MediaSummary summary) {
+        String downloadUrl = s3Service.generatePresignedUrlForDownload(summary.fileUrl());
+
+        return MediaResponse.from(summary, downloadUrl);
+    }
+
+    private List<MediaSummary> findSummaryPage(Long userId, Long cursor, int size, MediaOrigin originType) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new CustomException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+
+        Long from = cursor != null ? cursor : Long.MAX_VALUE;
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        return originType != null
+                ? mediaRepository.findSummaryPageByOrigin(userId, originType, from, limit)
+                : mediaRepository.findSummaryPage(userId, from, limit);
+    }
+
+    private Long nextCursor(List<MediaSummary> page, boolean hasNext) {
+        return hasNext ? page.get(page.size() - 1).mediaId() : null;
+    }
+
     private String createS3ObjectKey(String originalFileName) {
         String uuid = UUID.randomUUID().toString();
 
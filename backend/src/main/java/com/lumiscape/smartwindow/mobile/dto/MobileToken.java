@@ -0,0 +1,7 @@
+package com.lumiscape.smartwindow.mobile.dto;
+
+public record MobileToken(
+        Long userId,
+        String token
+) {
+}
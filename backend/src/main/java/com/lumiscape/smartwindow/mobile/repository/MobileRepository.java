@@ -1,8 +1,12 @@
 package com.lumiscape.smartwindow.mobile.repository;
 
 import com.lumiscape.smartwindow.mobile.domain.Mobile;
+import com.lumiscape.smartwindow.mobile.dto.MobileToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MobileRepository extends JpaRepository<Mobile, String> {
@@ -10,4 +14,7 @@ public interface MobileRepository extends JpaRepository<Mobile, String> {
     List<Mobile> findAllByUser_Id(Long userId);
 
     void deleteAllByUser_Id(Long userId);
+
+    @Query("SELECT new com.lumiscape.smartwindow.mobile.dto.MobileToken(m.user.id, m.token) FROM Mobile m WHERE m.user.id IN :userIds")
+    List<MobileToken> findTokensByUserIds(@Param("userIds") Collection<Long> userIds);
 }
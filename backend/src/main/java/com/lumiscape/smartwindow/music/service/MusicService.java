@@ -3,7 +3,9 @@ package com.lumiscape.smartwindow.music.service;
 import com.lumiscape.smartwindow.device.service.DeviceService;
 import com.lumiscape.smartwindow.global.exception.CustomException;
 import com.lumiscape.smartwindow.global.exception.ErrorCode;
-import com.lumiscape.smartwindow.global.infra.MqttPublishService;
+import com.lumiscape.smartwindow.global.outbox.OutboxService;
+import com.lumiscape.smartwindow.media.domain.AIGenerationType;
+import com.lumiscape.smartwindow.media.service.AIJobService;
 import com.lumiscape.smartwindow.music.domain.Music;
 import com.lumiscape.smartwindow.music.dto.AIMusicCallbackRequest;
 import com.lumiscape.smartwindow.music.dto.MusicRegisterRequest;
@@ -34,7 +36,8 @@ public class MusicService {
     private final @Lazy DeviceService deviceService;
 
     // TODO improve music part
-    private final MqttPublishService mqttPublishService;
+    private final OutboxService outboxService;
+    private final AIJobService aiJobService;
 
     public List<MusicResponse> getMusicList(Long userId, String type) {
         List<Music> musics;
@@ -90,7 +93,9 @@ public class MusicService {
         Long deviceId = Long.parseLong(request.deviceId());
         String deviceUniqueId = deviceService.findById(deviceId);
 
-        mqttPublishService.publishCommand(deviceUniqueId, "music", Map.of("musicUrl", request.musicUrl()));
+        outboxService.publishCommand(deviceUniqueId, "music", Map.of("musicUrl", request.musicUrl()));
+
+        aiJobService.complete(request.mediaId(), AIGenerationType.MUSIC);
     }
 
     public Music findMusicByUser(Long musicId, Long userId) {
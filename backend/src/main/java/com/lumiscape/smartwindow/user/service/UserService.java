@@ -34,6 +34,11 @@ public class UserService {
         user.updateNickname(requestDto.getNickname());
     }
 
+    public User getUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
+    }
+
     @Transactional
     public User getUserReference(Long userId) {
         return userRepository.getReferenceById(userId);
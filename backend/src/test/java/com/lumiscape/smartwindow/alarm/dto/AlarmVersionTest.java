@@ -0,0 +1,33 @@
+package com.lumiscape.smartwindow.alarm.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlarmVersionTest {
+
+    private final AlarmVersion version = new AlarmVersion(10, 4);
+
+    @Test
+    void firstSyncNeedsSnapshot() {
+        assertThat(version.canDeltaFrom(0)).isFalse();
+        assertThat(new AlarmVersion(0, 0).canDeltaFrom(0)).isFalse();
+    }
+
+    @Test
+    void versionAheadOfServerNeedsSnapshot() {
+        assertThat(version.canDeltaFrom(11)).isFalse();
+    }
+
+    @Test
+    void versionBelowTombstoneFloorNeedsSnapshot() {
+        assertThat(version.canDeltaFrom(3)).isFalse();
+    }
+
+    @Test
+    void versionWithinRetainedRangeCanDelta() {
+        assertThat(version.canDeltaFrom(4)).isTrue();
+        assertThat(version.canDeltaFrom(7)).isTrue();
+        assertThat(version.canDeltaFrom(10)).isTrue();
+    }
+}
@@ -0,0 +1,59 @@
+package com.lumiscape.smartwindow.alarm.scheduler;
+
+import com.lumiscape.smartwindow.alarm.domain.RepeatDays;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlarmFireTimesTest {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final LocalTime SEVEN = LocalTime.of(7, 0);
+
+    // 2026-10-19 은 월요일이다
+    private static ZonedDateTime at(int day, int hour, int minute) {
+        return ZonedDateTime.of(2026, 10, day, hour, minute, 0, 0, SEOUL);
+    }
+
+    @Test
+    void oneShotFiresLaterTodayOrTomorrow() {
+        assertThat(AlarmFireTimes.next(SEVEN, RepeatDays.NONE, at(19, 6, 0))).isEqualTo(at(19, 7, 0));
+        assertThat(AlarmFireTimes.next(SEVEN, RepeatDays.NONE, at(19, 8, 0))).isEqualTo(at(20, 7, 0));
+    }
+
+    @Test
+    void exactFireTimeMovesToTheNextOccurrence() {
+        assertThat(AlarmFireTimes.next(SEVEN, RepeatDays.NONE, at(19, 7, 0))).isEqualTo(at(20, 7, 0));
+        assertThat(AlarmFireTimes.next(SEVEN, RepeatDays.ALL, at(19, 7, 0))).isEqualTo(at(20, 7, 0));
+    }
+
+    @Test
+    void repeatSkipsToTheNextSelectedDay() {
+        int weekdays = RepeatDays.toMask(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+
+        // 금요일 알람이 지나면 주말을 건너뛰고 월요일에 울린다
+        assertThat(AlarmFireTimes.next(SEVEN, weekdays, at(23, 8, 0))).isEqualTo(at(26, 7, 0));
+    }
+
+    @Test
+    void sameDayOnlyRepeatWrapsToNextWeek() {
+        int mondays = RepeatDays.toMask(EnumSet.of(DayOfWeek.MONDAY));
+
+        assertThat(AlarmFireTimes.next(SEVEN, mondays, at(19, 6, 59))).isEqualTo(at(19, 7, 0));
+        assertThat(AlarmFireTimes.next(SEVEN, mondays, at(19, 7, 0))).isEqualTo(at(26, 7, 0));
+    }
+
+    @Test
+    void sundayRepeatWrapsFromSundayNight() {
+        int sundays = RepeatDays.toMask(EnumSet.of(DayOfWeek.SUNDAY));
+
+        assertThat(AlarmFireTimes.next(LocalTime.of(23, 30), sundays, at(25, 23, 45)))
+                .isEqualTo(ZonedDateTime.of(2026, 11, 1, 23, 30, 0, 0, SEOUL));
+    }
+}
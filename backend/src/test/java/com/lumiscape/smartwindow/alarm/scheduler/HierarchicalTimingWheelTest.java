@@ -0,0 +1,85 @@
+package com.lumiscape.smartwindow.alarm.scheduler;
+
+import com.lumiscape.smartwindow.alarm.domain.RepeatDays;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000;
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    @Test
+    void firesEachEntryAtItsDeadlineAcrossLevels() {
+        long start = 1_700_000_000_000L;
+        HierarchicalTimingWheel<Long, Long> wheel = new HierarchicalTimingWheel<>(TICK, 4, start);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+
+        for (long key = 0; key < 5_000; key++) {
+            long deadline = start + TICK * (1 + random.nextInt(8 * 24 * 3600));
+            deadlines.add(deadline);
+            wheel.schedule(key, deadline, deadline);
+        }
+
+        long now = start;
+        int fired = 0;
+
+        while (fired < deadlines.size()) {
+            now += TICK;
+
+            for (Long deadline : wheel.advance(now)) {
+                assertThat(deadline).isEqualTo(now);
+                fired++;
+            }
+        }
+
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rescheduleAndCancelReplaceEarlierEntries() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 0);
+
+        wheel.schedule("a", "first", 10 * TICK);
+        wheel.schedule("a", "second", 5_000 * TICK);
+        wheel.schedule("b", "cancelled", 20 * TICK);
+        wheel.cancel("b");
+
+        assertThat(wheel.advance(4_999 * TICK)).isEmpty();
+        assertThat(wheel.advance(5_000 * TICK)).containsExactly("second");
+    }
+
+    @Test
+    void overdueEntriesFireOnNextAdvance() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 100 * TICK);
+
+        wheel.schedule("late", "late", 50 * TICK);
+
+        assertThat(wheel.advance(100 * TICK)).containsExactly("late");
+    }
+
+    @Test
+    void nextFireTimeFollowsRepeatDaysInSeoul() {
+        // 2025-01-06 은 월요일
+        ZonedDateTime mondayNoon = ZonedDateTime.of(2025, 1, 6, 12, 0, 0, 0, SEOUL);
+        int weekend = RepeatDays.toMask(Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+
+        assertThat(AlarmFireTimes.next(LocalTime.of(7, 0), 0, mondayNoon))
+                .isEqualTo(ZonedDateTime.of(2025, 1, 7, 7, 0, 0, 0, SEOUL));
+        assertThat(AlarmFireTimes.next(LocalTime.of(13, 0), 0, mondayNoon))
+                .isEqualTo(ZonedDateTime.of(2025, 1, 6, 13, 0, 0, 0, SEOUL));
+        assertThat(AlarmFireTimes.next(LocalTime.of(9, 30), weekend, mondayNoon))
+                .isEqualTo(ZonedDateTime.of(2025, 1, 11, 9, 30, 0, 0, SEOUL));
+    }
+}
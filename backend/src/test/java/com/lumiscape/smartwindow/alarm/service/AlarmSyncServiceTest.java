@@ -0,0 +1,119 @@
+package com.lumiscape.smartwindow.alarm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumiscape.smartwindow.alarm.domain.RepeatDays;
+import com.lumiscape.smartwindow.alarm.dto.AlarmSyncPayload;
+import com.lumiscape.smartwindow.alarm.dto.AlarmSyncRow;
+import com.lumiscape.smartwindow.alarm.dto.AlarmVersion;
+import com.lumiscape.smartwindow.alarm.repository.AlarmSyncRepository;
+import com.lumiscape.smartwindow.device.dto.DeviceIdentity;
+import com.lumiscape.smartwindow.global.infra.MqttPublishService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlarmSyncServiceTest {
+
+    private static final DeviceIdentity DEVICE = new DeviceIdentity(1L, "window-1", 7L, "거실 창문");
+    private static final AlarmSyncRow MORNING = new AlarmSyncRow(11L, "기상", LocalTime.of(7, 0), RepeatDays.ALL, true);
+
+    private final AlarmSyncRepository alarmSyncRepository = mock(AlarmSyncRepository.class);
+    private final MqttPublishService mqttPublishService = mock(MqttPublishService.class);
+
+    private AlarmSyncService alarmSyncService;
+
+    @BeforeEach
+    void setUp() {
+        alarmSyncService = new AlarmSyncService(alarmSyncRepository, mqttPublishService, new ObjectMapper(),
+                Duration.ofDays(30), new SimpleMeterRegistry());
+
+        when(alarmSyncRepository.findVersion(1L)).thenReturn(Optional.of(new AlarmVersion(10, 4)));
+        when(alarmSyncRepository.findAlarms(1L)).thenReturn(List.of(MORNING));
+    }
+
+    @Test
+    void sendsSnapshotOnFirstSync() {
+        AlarmSyncPayload payload = sync(0);
+
+        assertThat(payload.full()).isTrue();
+        assertThat(payload.v()).isEqualTo(10);
+        assertThat(payload.a()).containsExactly(MORNING.toCompact());
+        verify(alarmSyncRepository, never()).findAlarmsSince(eq(1L), anyLong());
+    }
+
+    @Test
+    void sendsSnapshotWhenDeviceIsAheadOfServer() {
+        AlarmSyncPayload payload = sync(12);
+
+        assertThat(payload.full()).isTrue();
+        assertThat(payload.v()).isEqualTo(10);
+    }
+
+    @Test
+    void sendsSnapshotWhenTombstonesWerePruned() {
+        AlarmSyncPayload payload = sync(3);
+
+        assertThat(payload.full()).isTrue();
+        verify(alarmSyncRepository, never()).findTombstonesSince(eq(1L), anyLong());
+    }
+
+    @Test
+    void sendsEmptyDeltaWhenUpToDate() {
+        AlarmSyncPayload payload = sync(10);
+
+        assertThat(payload.full()).isFalse();
+        assertThat(payload.a()).isEmpty();
+        assertThat(payload.d()).isEmpty();
+        verify(alarmSyncRepository, never()).findAlarms(1L);
+        verify(alarmSyncRepository, never()).findAlarmsSince(eq(1L), anyLong());
+    }
+
+    @Test
+    void sendsChangesAndDeletionsSinceKnownVersion() {
+        when(alarmSyncRepository.findAlarmsSince(1L, 6)).thenReturn(List.of(MORNING));
+        when(alarmSyncRepository.findTombstonesSince(1L, 6)).thenReturn(List.of(12L));
+
+        AlarmSyncPayload payload = sync(6);
+
+        assertThat(payload.full()).isFalse();
+        assertThat(payload.v()).isEqualTo(10);
+        assertThat(payload.a()).containsExactly(MORNING.toCompact());
+        assertThat(payload.d()).containsExactly(12L);
+        verify(alarmSyncRepository, never()).findAlarms(1L);
+    }
+
+    @Test
+    void treatsUnknownDeviceVersionAsFreshDevice() {
+        when(alarmSyncRepository.findVersion(1L)).thenReturn(Optional.empty());
+        when(alarmSyncRepository.findAlarms(1L)).thenReturn(List.of());
+
+        AlarmSyncPayload payload = sync(5);
+
+        assertThat(payload.full()).isTrue();
+        assertThat(payload.v()).isZero();
+        assertThat(payload.a()).isEmpty();
+    }
+
+    private AlarmSyncPayload sync(long knownVersion) {
+        alarmSyncService.syncToDevice(DEVICE, knownVersion);
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(mqttPublishService).publishCommand(eq("window-1"), eq("alarm/sync"), payload.capture());
+
+        return (AlarmSyncPayload) payload.getValue();
+    }
+}
@@ -0,0 +1,121 @@
+package com.lumiscape.smartwindow.device.repository;
+
+import com.lumiscape.smartwindow.device.domain.Device;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 일회용 PostgreSQL 에서 엔티티 경로와 조건부 UPDATE ... RETURNING 경로의 제어 지연을 비교한다
+// 기본 test 에서는 빠지고 ./gradlew benchmark 로만 실행된다 (Docker 필요)
+@Tag("benchmark")
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DeviceCommandRepository.class)
+class DeviceControlBenchmarkTest {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withCopyFileToContainer(MountableFile.forHostPath("../infra/postgres/01_init.sql"),
+                    "/docker-entrypoint-initdb.d/01_init.sql");
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private DeviceCommandRepository deviceCommandRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long userId;
+    private Long deviceId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        String suffix = UUID.randomUUID().toString();
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, nickname) VALUES (?, 'benchmark') RETURNING id", Long.class,
+                suffix + "@benchmark.local");
+        deviceId = jdbcTemplate.queryForObject(
+                "INSERT INTO devices (user_id, device_unique_id, device_name) VALUES (?, ?, 'benchmark') RETURNING id",
+                Long.class, userId, suffix);
+    }
+
+    @Test
+    void commandPathIsFasterThanEntityPath() {
+        long[] entityPath = measure(status -> transactionTemplate.executeWithoutResult(tx ->
+                deviceRepository.findByIdAndUserId(deviceId, userId).orElseThrow().updatePower(status)));
+
+        long[] commandPath = measure(status -> transactionTemplate.executeWithoutResult(tx ->
+                deviceCommandRepository.updatePower(deviceId, userId, status).orElseThrow()));
+
+        report("entity", entityPath);
+        report("command", commandPath);
+
+        // 마지막 제어값이 남아 있고, 권한 없는 사용자는 갱신하지 못하는지 함께 확인한다
+        assertThat(deviceRepository.findById(deviceId).map(Device::isPowerStatus)).contains(false);
+        assertThat(deviceCommandRepository.updatePower(deviceId, -1L, true)).isEmpty();
+        assertThat(median(commandPath)).isLessThan(median(entityPath));
+    }
+
+    private long[] measure(Consumer<Boolean> control) {
+        for (int i = 0; i < WARMUP; i++) {
+            control.accept(i % 2 == 0);
+        }
+
+        long[] samples = new long[ITERATIONS];
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            control.accept(i % 2 == 0);
+            samples[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(samples);
+
+        return samples;
+    }
+
+    private long median(long[] samples) {
+        return samples[samples.length / 2];
+    }
+
+    private void report(String name, long[] samples) {
+        double avg = Arrays.stream(samples).average().orElse(0) / 1_000;
+
+        System.out.printf("[ BENCHMARK ] %-7s avg=%.1fus p50=%dus p99=%dus%n", name, avg,
+                median(samples) / 1_000, samples[(int) (samples.length * 0.99)] / 1_000);
+    }
+}
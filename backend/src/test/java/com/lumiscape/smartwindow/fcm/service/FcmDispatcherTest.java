@@ -0,0 +1,104 @@
+package com.lumiscape.smartwindow.fcm.service;
+
+import com.lumiscape.smartwindow.fcm.client.FcmSendResult;
+import com.lumiscape.smartwindow.fcm.client.FcmSender;
+import com.lumiscape.smartwindow.fcm.dto.FcmNotification;
+import com.lumiscape.smartwindow.mobile.dto.MobileToken;
+import com.lumiscape.smartwindow.mobile.repository.MobileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FcmDispatcherTest {
+
+    private final MobileRepository mobileRepository = mock(MobileRepository.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+
+    private StubFcmSender fcmSender;
+    private FcmDispatcher fcmDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        fcmSender = new StubFcmSender();
+        fcmDispatcher = new FcmDispatcher(fcmSender, mobileRepository, Runnable::run, taskScheduler,
+                100, 3, Duration.ofSeconds(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void splitsTokensIntoMulticastBatches() {
+        List<MobileToken> tokens = IntStream.range(0, 1200)
+                .mapToObj(i -> new MobileToken(1L, "token-" + i))
+                .toList();
+        when(mobileRepository.findTokensByUserIds(anyCollection())).thenReturn(tokens);
+
+        fcmDispatcher.dispatch(List.of(new FcmNotification(1L, "전원", "거실 창문 의 전원이 켜졌습니다.")));
+
+        assertThat(fcmSender.batches).extracting(List::size).containsExactly(500, 500, 200);
+    }
+
+    @Test
+    void mergesSameNotificationForDifferentUsers() {
+        when(mobileRepository.findTokensByUserIds(anyCollection())).thenReturn(List.of(
+                new MobileToken(1L, "token-a"),
+                new MobileToken(2L, "token-b")));
+
+        fcmDispatcher.dispatch(List.of(
+                new FcmNotification(1L, "공지", "점검 예정입니다."),
+                new FcmNotification(2L, "공지", "점검 예정입니다.")));
+
+        assertThat(fcmSender.batches).containsExactly(List.of("token-a", "token-b"));
+    }
+
+    @Test
+    void prunesUnregisteredTokensAndRetriesTransientFailures() {
+        when(mobileRepository.findTokensByUserIds(anyCollection())).thenReturn(List.of(
+                new MobileToken(1L, "ok"),
+                new MobileToken(1L, "gone"),
+                new MobileToken(1L, "busy")));
+        fcmSender.result = new FcmSendResult(1, List.of("gone"), List.of("busy"));
+
+        fcmDispatcher.dispatch(List.of(new FcmNotification(1L, "개폐", "거실 창문 이 열렸습니다.")));
+
+        verify(mobileRepository).deleteAllByIdInBatch(List.of("gone"));
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void skipsUsersWithoutTokens() {
+        when(mobileRepository.findTokensByUserIds(anyCollection())).thenReturn(List.of());
+
+        fcmDispatcher.dispatch(List.of(new FcmNotification(1L, "모드", "거실 창문 가 AUTO_MODE 입니다.")));
+
+        assertThat(fcmSender.batches).isEmpty();
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private static class StubFcmSender implements FcmSender {
+
+        private final List<List<String>> batches = new ArrayList<>();
+        private FcmSendResult result;
+
+        @Override
+        public FcmSendResult sendMulticast(List<String> tokens, String title, String body) {
+            batches.add(List.copyOf(tokens));
+
+            return result != null ? result : new FcmSendResult(tokens.size(), List.of(), List.of());
+        }
+    }
+}
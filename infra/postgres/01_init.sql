@@ -49,6 +49,28 @@ CREATE TYPE permission_level_enum AS ENUM (
     'MEMBER'
 );
 
+CREATE TYPE ai_generation_type_enum AS ENUM (
+    'MUSIC',
+    'AI_RP',
+    'AI_SUNSET',
+    'AI_DAWN',
+    'AI_AFTERNOON',
+    'AI_NIGHT'
+);
+
+CREATE TYPE ai_job_status_enum AS ENUM (
+    'PENDING',
+    'RUNNING',
+    'DONE',
+    'FAILED'
+);
+
+CREATE TYPE outbox_channel_enum AS ENUM (
+    'MQTT',
+    'FCM',
+    'S3_DELETE'
+);
+
 
 -- 2. 테이블 생성
 
@@ -109,6 +131,8 @@ CREATE TABLE devices (
     mode_settings JSONB NULL,
     media_id BIGINT NULL REFERENCES media(id) ON DELETE SET NULL,
     music_id BIGINT NULL REFERENCES musics(id) ON DELETE SET NULL,
+    alarm_version BIGINT DEFAULT 0 NOT NULL,
+    alarm_tombstone_floor BIGINT DEFAULT 0 NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
 );
 
@@ -117,8 +141,47 @@ CREATE TABLE alarms (
     device_id BIGINT NOT NULL REFERENCES devices(id) ON DELETE CASCADE,
     alarm_name VARCHAR(100) NOT NULL,
     alarm_time TIME NOT NULL,
-    repeat_days VARCHAR(100) NULL,
+    repeat_days SMALLINT DEFAULT 0 NOT NULL CHECK (repeat_days BETWEEN 0 AND 127), -- 월요일 = bit 0 ... 일요일 = bit 6, 0 이면 반복 없음
     is_active BOOLEAN DEFAULT TRUE NOT NULL,
+    sync_version BIGINT DEFAULT 0 NOT NULL,
+    last_fired_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE TABLE alarm_tombstones (
+    device_id BIGINT NOT NULL REFERENCES devices(id) ON DELETE CASCADE,
+    alarm_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (device_id, alarm_id)
+);
+
+CREATE TABLE ai_generation_jobs (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    media_id BIGINT NOT NULL REFERENCES media(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    device_id BIGINT NULL,
+    source_key VARCHAR(500) NOT NULL,
+    generation_type ai_generation_type_enum NOT NULL,
+    status ai_job_status_enum DEFAULT 'PENDING' NOT NULL,
+    attempts INT DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    started_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL,
+    last_error VARCHAR(500) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    UNIQUE (media_id, generation_type)
+);
+
+-- 트랜잭션과 함께 기록하고 커밋 후 relay 가 발행한다. 발행에 성공한 행은 삭제한다
+CREATE TABLE outbox_events (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    channel outbox_channel_enum NOT NULL,
+    destination VARCHAR(255) NOT NULL, -- MQTT: device_unique_id, FCM: user_id, S3_DELETE: bucket
+    subject VARCHAR(255) NULL, -- MQTT: topic, FCM: title
+    payload TEXT NOT NULL, -- S3_DELETE: object key
+    attempts INT DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
 );
 
@@ -155,10 +218,19 @@ CREATE INDEX idx_devices_user_id ON devices (user_id);
 CREATE INDEX idx_devices_media_id ON devices (media_id);
 CREATE INDEX idx_devices_music_id ON devices (music_id);
 CREATE INDEX idx_media_user_id ON media (user_id);
+CREATE INDEX idx_media_user_id_id ON media (user_id, id DESC);
+CREATE INDEX idx_media_user_id_origin_type_id ON media (user_id, origin_type, id DESC);
 CREATE INDEX idx_media_parent_media_id ON media (parent_media_id);
 CREATE INDEX idx_media_music_id ON media (music_id);
+CREATE INDEX idx_ai_generation_jobs_pending ON ai_generation_jobs (next_attempt_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_ai_generation_jobs_running ON ai_generation_jobs (user_id, started_at) WHERE status = 'RUNNING';
+CREATE INDEX idx_outbox_events_next_attempt_at ON outbox_events (next_attempt_at, id);
+CREATE INDEX idx_outbox_events_channel_destination_id ON outbox_events (channel, destination, id);
 CREATE INDEX idx_musics_user_id ON musics (user_id);
-CREATE INDEX idx_alarms_device_id ON alarms (device_id);
+CREATE INDEX idx_alarms_device_id_sync_version ON alarms (device_id, sync_version);
+CREATE INDEX idx_alarms_alarm_time_repeat_days ON alarms (alarm_time, repeat_days) WHERE is_active;
+CREATE INDEX idx_alarm_tombstones_device_id_version ON alarm_tombstones (device_id, version);
+CREATE INDEX idx_alarm_tombstones_deleted_at ON alarm_tombstones (deleted_at);
 CREATE INDEX idx_user_social_accounts_user_id ON user_social_accounts (user_id);
 CREATE INDEX idx_mobiles_user_id ON mobiles (user_id);
 CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens (user_id);
\ No newline at end of file
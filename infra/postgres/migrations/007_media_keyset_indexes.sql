@@ -0,0 +1,4 @@
+-- user-007: 미디어 목록 keyset 페이지네이션 인덱스
+
+CREATE INDEX IF NOT EXISTS idx_media_user_id_id ON media (user_id, id DESC);
+CREATE INDEX IF NOT EXISTS idx_media_user_id_origin_type_id ON media (user_id, origin_type, id DESC);
@@ -0,0 +1,43 @@
+-- user-009: AI 생성 작업 테이블
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_type WHERE typname = 'ai_generation_type_enum') THEN
+        CREATE TYPE ai_generation_type_enum AS ENUM (
+            'MUSIC',
+            'AI_RP',
+            'AI_SUNSET',
+            'AI_DAWN',
+            'AI_AFTERNOON',
+            'AI_NIGHT'
+        );
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_type WHERE typname = 'ai_job_status_enum') THEN
+        CREATE TYPE ai_job_status_enum AS ENUM (
+            'PENDING',
+            'RUNNING',
+            'DONE',
+            'FAILED'
+        );
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS ai_generation_jobs (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    media_id BIGINT NOT NULL REFERENCES media(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    device_id BIGINT NULL,
+    source_key VARCHAR(500) NOT NULL,
+    generation_type ai_generation_type_enum NOT NULL,
+    status ai_job_status_enum DEFAULT 'PENDING' NOT NULL,
+    attempts INT DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    started_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL,
+    last_error VARCHAR(500) NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    UNIQUE (media_id, generation_type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ai_generation_jobs_pending ON ai_generation_jobs (next_attempt_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_ai_generation_jobs_running ON ai_generation_jobs (user_id, started_at) WHERE status = 'RUNNING';
@@ -0,0 +1,18 @@
+-- user-020: 디바이스별 알람 동기화 버전과 삭제 기록
+
+ALTER TABLE devices ADD COLUMN IF NOT EXISTS alarm_version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE devices ADD COLUMN IF NOT EXISTS alarm_tombstone_floor BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE alarms ADD COLUMN IF NOT EXISTS sync_version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS alarm_tombstones (
+    device_id BIGINT NOT NULL REFERENCES devices(id) ON DELETE CASCADE,
+    alarm_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (device_id, alarm_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_alarms_device_id_sync_version ON alarms (device_id, sync_version);
+DROP INDEX IF EXISTS idx_alarms_device_id;
+CREATE INDEX IF NOT EXISTS idx_alarm_tombstones_device_id_version ON alarm_tombstones (device_id, version);
+CREATE INDEX IF NOT EXISTS idx_alarm_tombstones_deleted_at ON alarm_tombstones (deleted_at);
@@ -0,0 +1,3 @@
+-- user-021: 알람 마지막 발화 시각
+
+ALTER TABLE alarms ADD COLUMN IF NOT EXISTS last_fired_at TIMESTAMP NULL;
@@ -0,0 +1,30 @@
+-- user-022: alarms.repeat_days 를 'MONDAY,FRIDAY' 형식의 문자열에서 요일 비트마스크로 바꾼다
+-- 월요일 = bit 0 ... 일요일 = bit 6, 0 이면 반복 없음. 이미 SMALLINT 이면 건너뛴다
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'alarms' AND column_name = 'repeat_days' AND data_type = 'character varying') THEN
+        ALTER TABLE alarms ALTER COLUMN repeat_days TYPE SMALLINT USING (
+              (CASE WHEN 'MONDAY' = ANY (string_to_array(COALESCE(repeat_days, ''), ',')) THEN 1 ELSE 0 END)
+            + (CASE WHEN 'TUESDAY' = ANY (string_to_array(COALESCE(repeat_days, ''), ',')) THEN 2 ELSE 0 END)
+            + (CASE WHEN 'WEDNESDAY' = ANY (string_to_array(COALESCE(repeat_days, ''), ',')) THEN 4 ELSE 0 END)
+            + (CASE WHEN 'THURSDAY' = ANY (string_to_array(COALESCE(repeat_days, ''), ',')) THEN 8 ELSE 0 END)
+            + (CASE WHEN 'FRIDAY' = ANY (string_to_array(COALESCE(repeat_days, ''), ',')) THEN 16 ELSE 0 END)
+            + (CASE WHEN 'SATURDAY' = ANY (string_to_array(COALESCE(repeat_days, ''), ',')) THEN 32 ELSE 0 END)
+            + (CASE WHEN 'SUNDAY' = ANY (string_to_array(COALESCE(repeat_days, ''), ',')) THEN 64 ELSE 0 END)
+        )::SMALLINT;
+    END IF;
+END $$;
+
+ALTER TABLE alarms ALTER COLUMN repeat_days SET DEFAULT 0;
+ALTER TABLE alarms ALTER COLUMN repeat_days SET NOT NULL;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'alarms_repeat_days_check') THEN
+        ALTER TABLE alarms ADD CONSTRAINT alarms_repeat_days_check CHECK (repeat_days BETWEEN 0 AND 127);
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_alarms_alarm_time_repeat_days ON alarms (alarm_time, repeat_days) WHERE is_active;
@@ -0,0 +1,25 @@
+-- user-023: 트랜잭셔널 아웃박스
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_type WHERE typname = 'outbox_channel_enum') THEN
+        CREATE TYPE outbox_channel_enum AS ENUM (
+            'MQTT',
+            'FCM'
+        );
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    channel outbox_channel_enum NOT NULL,
+    destination VARCHAR(255) NOT NULL, -- MQTT: device_unique_id, FCM: user_id, S3_DELETE: bucket
+    subject VARCHAR(255) NULL, -- MQTT: topic, FCM: title
+    payload TEXT NOT NULL, -- S3_DELETE: object key
+    attempts INT DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_next_attempt_at ON outbox_events (next_attempt_at, id);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_channel_destination_id ON outbox_events (channel, destination, id);
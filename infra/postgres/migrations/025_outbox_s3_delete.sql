@@ -0,0 +1,3 @@
+-- user-025: S3 객체 삭제를 아웃박스로 보낸다
+
+ALTER TYPE outbox_channel_enum ADD VALUE IF NOT EXISTS 'S3_DELETE';